@@ -0,0 +1,151 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.gameinput.model.TypeDef;
+import tau.smlab.syntech.gameinput.model.Variable;
+import tau.smlab.syntech.gameinput.spec.Operator;
+import tau.smlab.syntech.gameinput.spec.PrimitiveValue;
+import tau.smlab.syntech.gameinput.spec.Spec;
+import tau.smlab.syntech.gameinput.spec.SpecExp;
+import tau.smlab.syntech.gameinput.spec.VariableReference;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.jtlv.Env;
+
+/**
+ * Array references with variable indexes are translated symbolically. The
+ * result has to be the same BDD as the case distinction over the concrete
+ * indexes.
+ */
+public class VariableIndexesTest {
+
+	private static final int SIZE = 3;
+
+	private Variable a;
+	private Variable b;
+	private Variable i;
+
+	@Before
+	public void setUp() throws Exception {
+		Env.resetEnv();
+		PlayerModule m = new PlayerModule();
+		m.setName("m");
+		List<Integer> dims = Arrays.asList(SIZE);
+		a = new Variable("a", new TypeDef(dims));
+		b = new Variable("b", new TypeDef(0, 3, dims));
+		i = new Variable("i", new TypeDef(0, SIZE - 1));
+		for (int k = 0; k < SIZE; k++) {
+			m.addVar("a[" + k + "]", false, true);
+			m.addVar("b[" + k + "]", 0, 3, false, true);
+		}
+		m.addVar("i", 0, SIZE - 1, false, true);
+	}
+
+	@After
+	public void tearDown() {
+		Env.resetEnv();
+	}
+
+	@Test
+	public void booleanElement() {
+		// a[i]
+		Spec symbolic = indexed(a);
+		Spec concrete = null;
+		for (int k = 0; k < SIZE; k++) {
+			concrete = or(concrete, new SpecExp(Operator.AND, iEquals(k), element(a, k)));
+		}
+		assertSameBdd(concrete, symbolic);
+	}
+
+	@Test
+	public void integerElement() {
+		// b[i] = 2
+		Spec symbolic = new SpecExp(Operator.EQUALS, indexed(b), new PrimitiveValue(2));
+		Spec concrete = null;
+		for (int k = 0; k < SIZE; k++) {
+			concrete = or(concrete, new SpecExp(Operator.AND, iEquals(k),
+					new SpecExp(Operator.EQUALS, element(b, k), new PrimitiveValue(2))));
+		}
+		assertSameBdd(concrete, symbolic);
+	}
+
+	@Test
+	public void elementInComparison() {
+		// i + 1 >= b[i]
+		Spec symbolic = new SpecExp(Operator.LEFT_BIGGER_OR_EQUALS, new SpecExp(Operator.ADD, new VariableReference(i),
+				new PrimitiveValue(1)), indexed(b));
+		Spec concrete = null;
+		for (int k = 0; k < SIZE; k++) {
+			concrete = or(concrete, new SpecExp(Operator.AND, iEquals(k), new SpecExp(Operator.LEFT_BIGGER_OR_EQUALS,
+					new SpecExp(Operator.ADD, new VariableReference(i), new PrimitiveValue(1)), element(b, k))));
+		}
+		assertSameBdd(concrete, symbolic);
+	}
+
+	private void assertSameBdd(Spec expected, Spec actual) {
+		BDD exp = BDDGenerator.createBdd(expected, 0);
+		BDD act = BDDGenerator.createBdd(actual, 0);
+		assertEquals(exp, act);
+		exp.free();
+		act.free();
+	}
+
+	private VariableReference indexed(Variable var) {
+		Map<String, Variable> indexVars = new HashMap<>();
+		indexVars.put(i.getName(), i);
+		List<Spec> indexSpecs = new ArrayList<>();
+		indexSpecs.add(new VariableReference(i));
+		return new VariableReference(var, var.getName() + "[i]", indexVars, indexSpecs, Arrays.asList(SIZE));
+	}
+
+	private static VariableReference element(Variable var, int k) {
+		return new VariableReference(var, var.getName() + "[" + k + "]");
+	}
+
+	private SpecExp iEquals(int k) {
+		return new SpecExp(Operator.EQUALS, new VariableReference(i), new PrimitiveValue(k));
+	}
+
+	private static Spec or(Spec left, Spec right) {
+		return left == null ? right : new SpecExp(Operator.OR, left, right);
+	}
+}
@@ -0,0 +1,167 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator.sfa;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.sfa.SFA;
+import tau.smlab.syntech.sfa.SFAState;
+
+/**
+ * 
+ * Moore's minimization algorithm (a.k.a. the standard algorithm) lifted to
+ * SFAs, as BaseSFA.minimize() computed it before the symbolic partition
+ * refinement. The equivalence relation starts with all pairs of states with
+ * the same acceptance and drops pairs with intersecting guards into
+ * non-equivalent states until a fixed point is reached.
+ * 
+ * Reference for the tests and benchmarks of {@link SFA#minimize()}.
+ *
+ */
+public class MooreMinimization {
+
+	/**
+	 * @param sfa
+	 * @return the number of states of the minimal automaton of sfa without dead
+	 *         states (one state for the empty language)
+	 */
+	public static int minimalNumStates(SFA sfa) {
+		if (sfa.isEmptyLanguage()) {
+			return 1;
+		}
+		SFA det = sfa.determinize();
+		det.completeTransitionFunction();
+		List<? extends SFAState> states = det.reachableStates();
+		int[] representatives = representatives(states);
+
+		Set<Integer> liveClasses = new HashSet<>();
+		for (SFAState s : liveStates(states)) {
+			liveClasses.add(representatives[states.indexOf(s)]);
+		}
+		det.free();
+		return liveClasses.size();
+	}
+
+	/**
+	 * @param states
+	 *          all reachable states of a complete deterministic automaton
+	 * @return the index of the representative of the class of every state
+	 */
+	private static int[] representatives(List<? extends SFAState> states) {
+		Map<SFAState, Integer> index = new HashMap<>();
+		for (int i = 0; i < states.size(); i++) {
+			index.put(states.get(i), i);
+		}
+
+		// initialize the equivalence relation E
+		int n = states.size();
+		boolean[][] e = new boolean[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				e[i][j] = states.get(i).isAccepting() == states.get(j).isAccepting();
+			}
+		}
+
+		// refine E
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < i; j++) {
+					if (e[i][j] && distinguished(states.get(i), states.get(j), e, index)) {
+						e[i][j] = false;
+						e[j][i] = false;
+						changed = true;
+					}
+				}
+			}
+		}
+
+		int[] representatives = new int[n];
+		for (int i = 0; i < n; i++) {
+			int r = 0;
+			while (!e[i][r]) {
+				r++;
+			}
+			representatives[i] = r;
+		}
+		return representatives;
+	}
+
+	private static boolean distinguished(SFAState p, SFAState q, boolean[][] e, Map<SFAState, Integer> index) {
+		for (Map.Entry<? extends SFAState, BDD> pTransition : p.getSucc().entrySet()) {
+			for (Map.Entry<? extends SFAState, BDD> qTransition : q.getSucc().entrySet()) {
+				if (!e[index.get(pTransition.getKey())][index.get(qTransition.getKey())]) {
+					BDD conjunction = pTransition.getValue().and(qTransition.getValue());
+					boolean intersect = !conjunction.isZero();
+					conjunction.free();
+					if (intersect) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the states from which an accepting state can be reached
+	 */
+	private static Set<SFAState> liveStates(List<? extends SFAState> states) {
+		Set<SFAState> live = new HashSet<>();
+		for (SFAState s : states) {
+			if (s.isAccepting()) {
+				live.add(s);
+			}
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (SFAState s : states) {
+				if (!live.contains(s) && !disjoint(live, s.getSuccessors())) {
+					live.add(s);
+					changed = true;
+				}
+			}
+		}
+		return live;
+	}
+
+	private static boolean disjoint(Set<SFAState> a, Set<? extends SFAState> b) {
+		List<SFAState> common = new ArrayList<>(b);
+		common.retainAll(a);
+		return common.isEmpty();
+	}
+}
@@ -0,0 +1,110 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator.sfa;
+
+import java.util.List;
+
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory.RegExpSFAGeneratorType;
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory.TriggerSFAGeneratorType;
+import tau.smlab.syntech.bddgenerator.sfa.regexp.RegExpSFAGenerator;
+import tau.smlab.syntech.bddgenerator.sfa.trigger.TriggerFixtures;
+import tau.smlab.syntech.bddgenerator.sfa.trigger.TriggerSFAGenerator;
+import tau.smlab.syntech.gameinput.model.TriggerConstraint;
+import tau.smlab.syntech.gameinput.spec.VariableReference;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.sfa.SFA;
+
+/**
+ * 
+ * Compares {@link SFA#minimize()} with {@link MooreMinimization} on the SFAs
+ * of the triggers of {@link TriggerFixtures#newTrigger(List)}: the initiator
+ * and effect SFAs of the symbolic regexp generator (before minimization) and
+ * the trigger SFA of the simple trigger generator.
+ * 
+ * Usage: {@code SFAMinimizationBenchmark [maxAtoms] [runs]}
+ *
+ */
+public class SFAMinimizationBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int maxAtoms = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+		PlayerModule m = new PlayerModule();
+		m.setName("bench");
+		List<VariableReference> atoms = TriggerFixtures.newAtoms(m, maxAtoms);
+
+		System.out.println("atoms\tsfa\tstates\tminimal\tminimize (ms)\tmoore (ms)");
+		for (int n = 2; n <= maxAtoms; n++) {
+			TriggerConstraint trigger = TriggerFixtures.newTrigger(atoms.subList(0, n));
+
+			RegExpSFAGenerator init = SFAGeneratorFactory.getGenerator(RegExpSFAGeneratorType.SYMBOLIC,
+					trigger.getInitSpecRegExp(), 0);
+			measure(n, "initiator", init.generateRegExpSfa(), runs);
+			init.freeRegExpSfa();
+
+			RegExpSFAGenerator effect = SFAGeneratorFactory.getGenerator(RegExpSFAGeneratorType.SYMBOLIC,
+					trigger.getEffectSpecRegExp(), 0);
+			measure(n, "effect", effect.generateRegExpSfa(), runs);
+			effect.freeRegExpSfa();
+
+			TriggerSFAGenerator triggerGen = SFAGeneratorFactory.getGenerator(TriggerSFAGeneratorType.SIMPLE,
+					RegExpSFAGeneratorType.SYMBOLIC, trigger, 0);
+			SFA triggerSfa = triggerGen.generateTriggerSfa();
+			measure(n, "trigger", triggerSfa, runs);
+			triggerSfa.free();
+		}
+		m.free();
+	}
+
+	private static void measure(int atoms, String name, SFA sfa, int runs) {
+		SFA min = null;
+		long start = System.currentTimeMillis();
+		for (int r = 0; r < runs; r++) {
+			if (min != null) {
+				min.free();
+			}
+			min = sfa.minimize();
+		}
+		long minimizeTime = (System.currentTimeMillis() - start) / runs;
+
+		int mooreStates = 0;
+		start = System.currentTimeMillis();
+		for (int r = 0; r < runs; r++) {
+			mooreStates = MooreMinimization.minimalNumStates(sfa);
+		}
+		long mooreTime = (System.currentTimeMillis() - start) / runs;
+
+		String minimal = min.numStates() == mooreStates ? String.valueOf(mooreStates)
+				: min.numStates() + " (moore " + mooreStates + ")";
+		System.out.println(atoms + "\t" + name + "\t" + sfa.numStates() + "\t" + minimal + "\t" + minimizeTime
+				+ "\t" + mooreTime);
+		min.free();
+	}
+}
@@ -0,0 +1,109 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator.sfa;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.jtlv.Env;
+import tau.smlab.syntech.jtlv.env.module.ModuleBDDField;
+import tau.smlab.syntech.sfa.SFA;
+import tau.smlab.syntech.sfa.SFAState;
+import tau.smlab.syntech.sfa.SFAs;
+
+/**
+ * Compares {@link SFA#minimize()} with {@link MooreMinimization} on random
+ * non-deterministic SFAs over three Boolean variables.
+ */
+public class SFAMinimizationTest {
+
+	private static final int NUM_VARS = 3;
+	private static final int NUM_SFAS = 200;
+
+	private ModuleBDDField[] vars;
+
+	@Before
+	public void setUp() throws Exception {
+		Env.resetEnv();
+		vars = new ModuleBDDField[NUM_VARS];
+		for (int i = 0; i < NUM_VARS; i++) {
+			vars[i] = Env.newVar("v" + i);
+		}
+	}
+
+	@After
+	public void tearDown() {
+		Env.resetEnv();
+	}
+
+	@Test
+	public void minimizeMatchesMoore() {
+		Random random = new Random(41);
+		for (int k = 0; k < NUM_SFAS; k++) {
+			SFA sfa = randomSfa(random, 2 + random.nextInt(8));
+			SFA min = sfa.minimize();
+			assertEquals("SFA " + k, MooreMinimization.minimalNumStates(sfa), min.numStates());
+			assertTrue("SFA " + k, min.isEquivalent(sfa));
+			min.free();
+			sfa.free();
+		}
+	}
+
+	/**
+	 * @return an SFA with n states, each with up to three transitions whose guards
+	 *         are random cubes
+	 */
+	private SFA randomSfa(Random random, int n) {
+		SFAState[] states = new SFAState[n];
+		for (int i = 0; i < n; i++) {
+			states[i] = SFAs.newSimpleSfaState(random.nextInt(3) == 0);
+		}
+		for (SFAState s : states) {
+			int numTrans = 1 + random.nextInt(3);
+			for (int t = 0; t < numTrans; t++) {
+				BDD guard = Env.TRUE();
+				for (ModuleBDDField v : vars) {
+					int lit = random.nextInt(3);
+					if (lit > 0) {
+						guard.andWith(v.getDomain().ithVar(lit - 1));
+					}
+				}
+				s.addTrans(guard, states[random.nextInt(n)]);
+			}
+		}
+		return SFAs.newSimpleSfa(states[0]);
+	}
+}
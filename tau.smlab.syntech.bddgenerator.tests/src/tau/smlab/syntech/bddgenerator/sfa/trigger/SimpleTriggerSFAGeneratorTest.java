@@ -0,0 +1,96 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator.sfa.trigger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory;
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory.RegExpSFAGeneratorType;
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory.TriggerSFAGeneratorType;
+import tau.smlab.syntech.gameinput.model.TriggerConstraint;
+import tau.smlab.syntech.gameinput.spec.VariableReference;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.jtlv.Env;
+import tau.smlab.syntech.sfa.SFA;
+
+public class SimpleTriggerSFAGeneratorTest {
+
+	private static final int MAX_ATOMS = 12;
+
+	private PlayerModule m;
+	private List<VariableReference> atoms;
+
+	@Before
+	public void setUp() throws Exception {
+		Env.resetEnv();
+		m = new PlayerModule();
+		m.setName("test");
+		atoms = TriggerFixtures.newAtoms(m, MAX_ATOMS);
+	}
+
+	@After
+	public void tearDown() {
+		m.free();
+		Env.resetEnv();
+	}
+
+	@Test
+	public void symbolicStatesDoNotGrowWithAtoms() {
+		SFA first = generate(2, RegExpSFAGeneratorType.SYMBOLIC);
+		for (int n = 3; n <= MAX_ATOMS; n++) {
+			SFA sfa = generate(n, RegExpSFAGeneratorType.SYMBOLIC);
+			assertEquals(first.numStates(), sfa.numStates());
+			sfa.free();
+		}
+		first.free();
+	}
+
+	@Test
+	public void symbolicEquivalentToBrics() {
+		for (int n = 2; n <= 6; n++) {
+			SFA symbolic = generate(n, RegExpSFAGeneratorType.SYMBOLIC);
+			SFA brics = generate(n, RegExpSFAGeneratorType.BRICS);
+			assertTrue(symbolic.isEquivalent(brics));
+			symbolic.free();
+			brics.free();
+		}
+	}
+
+	private SFA generate(int n, RegExpSFAGeneratorType type) {
+		TriggerConstraint trigger = TriggerFixtures.newTrigger(atoms.subList(0, n));
+		return SFAGeneratorFactory.getGenerator(TriggerSFAGeneratorType.SIMPLE, type, trigger, 0).generateTriggerSfa();
+	}
+}
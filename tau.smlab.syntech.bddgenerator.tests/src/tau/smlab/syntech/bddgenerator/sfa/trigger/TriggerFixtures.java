@@ -0,0 +1,98 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator.sfa.trigger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import tau.smlab.syntech.gameinput.model.TriggerConstraint;
+import tau.smlab.syntech.gameinput.model.TypeDef;
+import tau.smlab.syntech.gameinput.model.Variable;
+import tau.smlab.syntech.gameinput.spec.Operator;
+import tau.smlab.syntech.gameinput.spec.Spec;
+import tau.smlab.syntech.gameinput.spec.SpecExp;
+import tau.smlab.syntech.gameinput.spec.SpecRegExp;
+import tau.smlab.syntech.gameinput.spec.VariableReference;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+
+/**
+ * 
+ * Triggers over a growing number of Boolean atoms for the trigger SFA tests and
+ * benchmarks.
+ *
+ */
+public class TriggerFixtures {
+
+	/**
+	 * adds the Boolean variables a0, ..., a(n-1) to the module
+	 * 
+	 * @param m
+	 * @param n
+	 * @return references to the new variables
+	 * @throws Exception
+	 */
+	public static List<VariableReference> newAtoms(PlayerModule m, int n) throws Exception {
+		List<VariableReference> atoms = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			String name = "a" + i;
+			m.addVar(name, false);
+			atoms.add(new VariableReference(new Variable(name, new TypeDef())));
+		}
+		return atoms;
+	}
+
+	/**
+	 * The SFA of the trigger has a constant number of states, so the running time
+	 * of its generation only depends on the number of atoms.
+	 * 
+	 * @param atoms
+	 * @return the trigger
+	 *         {@code TRUE* (a0 | ... | an) (!a0 & ... & !an) |=> TRUE* (a0 & ... & an)}
+	 */
+	public static TriggerConstraint newTrigger(List<VariableReference> atoms) {
+		Spec some = atoms.get(0);
+		Spec none = new SpecExp(Operator.NOT, atoms.get(0));
+		Spec all = atoms.get(0);
+		for (int i = 1; i < atoms.size(); i++) {
+			some = new SpecExp(Operator.OR, some, atoms.get(i));
+			none = new SpecExp(Operator.AND, none, new SpecExp(Operator.NOT, atoms.get(i)));
+			all = new SpecExp(Operator.AND, all, atoms.get(i));
+		}
+
+		SpecRegExp init = SpecRegExp.newConcatRegExp(trueStar(),
+				SpecRegExp.newConcatRegExp(SpecRegExp.newPredicateRegExp(some), SpecRegExp.newPredicateRegExp(none)));
+		SpecRegExp effect = SpecRegExp.newConcatRegExp(trueStar(), SpecRegExp.newPredicateRegExp(all));
+
+		return new TriggerConstraint("trigger" + atoms.size(), init, effect, 0);
+	}
+
+	private static SpecRegExp trueStar() {
+		return SpecRegExp.newZeroOrMoreRepRegExp(SpecRegExp.newBooleanConstRegExp(true));
+	}
+}
@@ -0,0 +1,103 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator.sfa.trigger;
+
+import java.util.List;
+
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory;
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory.RegExpSFAGeneratorType;
+import tau.smlab.syntech.bddgenerator.sfa.SFAGeneratorFactory.TriggerSFAGeneratorType;
+import tau.smlab.syntech.gameinput.model.TriggerConstraint;
+import tau.smlab.syntech.gameinput.spec.VariableReference;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.sfa.SFA;
+
+/**
+ * 
+ * Compares the generation of trigger SFAs from symbolic regular expression SFAs
+ * ({@link RegExpSFAGeneratorType#SYMBOLIC}) with the generation via Brics
+ * automata ({@link RegExpSFAGeneratorType#BRICS}), whose alphabet grows
+ * exponentially in the number of atoms (Boolean variables) of the trigger. The
+ * triggers are {@link TriggerFixtures#newTrigger(List)}.
+ * 
+ * Usage: {@code TriggerSFAGeneratorBenchmark [maxAtoms] [runs]}
+ *
+ */
+public class TriggerSFAGeneratorBenchmark {
+
+	/**
+	 * Brics encodes every assignment to the atoms by a character
+	 */
+	private static final int MAX_BRICS_ATOMS = 16;
+
+	public static void main(String[] args) throws Exception {
+		int maxAtoms = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+		PlayerModule m = new PlayerModule();
+		m.setName("bench");
+		List<VariableReference> atoms = TriggerFixtures.newAtoms(m, maxAtoms);
+
+		System.out.println("atoms\tgenerator\tstates\ttime (ms)\tequivalent");
+		for (int n = 2; n <= maxAtoms; n++) {
+			TriggerConstraint trigger = TriggerFixtures.newTrigger(atoms.subList(0, n));
+			SFA symbolic = null;
+			for (RegExpSFAGeneratorType type : RegExpSFAGeneratorType.values()) {
+				if (type == RegExpSFAGeneratorType.BRICS && n > MAX_BRICS_ATOMS) {
+					continue;
+				}
+				SFA sfa = null;
+				long start = System.currentTimeMillis();
+				for (int r = 0; r < runs; r++) {
+					if (sfa != null) {
+						sfa.free();
+					}
+					sfa = SFAGeneratorFactory.getGenerator(TriggerSFAGeneratorType.SIMPLE, type, trigger, 0)
+							.generateTriggerSfa();
+				}
+				long time = (System.currentTimeMillis() - start) / runs;
+
+				String equivalent = "";
+				if (type == RegExpSFAGeneratorType.SYMBOLIC) {
+					symbolic = sfa;
+				} else if (symbolic != null) {
+					equivalent = String.valueOf(sfa.isEquivalent(symbolic));
+				}
+				System.out.println(n + "\t" + type + "\t" + sfa.numStates() + "\t" + time + "\t" + equivalent);
+				if (sfa != symbolic) {
+					sfa.free();
+				}
+			}
+			if (symbolic != null) {
+				symbolic.free();
+			}
+		}
+		m.free();
+	}
+}
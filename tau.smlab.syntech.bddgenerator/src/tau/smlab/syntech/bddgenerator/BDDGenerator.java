@@ -28,14 +28,18 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 package tau.smlab.syntech.bddgenerator;
 
+import java.io.File;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import net.sf.javabdd.BDD;
 import net.sf.javabdd.BDDBitVector;
@@ -58,6 +62,7 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 import tau.smlab.syntech.gameinput.spec.PrimitiveValue;
 import tau.smlab.syntech.gameinput.spec.Spec;
 import tau.smlab.syntech.gameinput.spec.SpecExp;
+import tau.smlab.syntech.gameinput.spec.SpecHelper;
 import tau.smlab.syntech.gameinput.spec.VariableReference;
 import tau.smlab.syntech.gamemodel.BehaviorInfo;
 import tau.smlab.syntech.gamemodel.GameModel;
@@ -72,6 +77,45 @@ public class BDDGenerator {
 
 	private static final String CUDDADD_FACTORY = "CUDDFactory$CUDDADDFactory";
 
+	/**
+	 * create the variables in the order computed by {@link VarOrderHeuristic}
+	 * instead of the declaration order (env, sys, aux)
+	 */
+	static public boolean STATIC_VAR_ORDER = false;
+
+	/**
+	 * if set, the variable order is loaded from this file if it exists; otherwise
+	 * the order computed by {@link VarOrderHeuristic} is saved to it
+	 */
+	static public String VAR_ORDER_FILE = null;
+
+	/**
+	 * translate every (shared) specification node only once while a game model is
+	 * generated (see HashConsTranslator)
+	 */
+	static public boolean MEMOIZE_BDDS = true;
+
+	/**
+	 * BDDs of translated specification nodes (by identity), only filled during
+	 * {@link #generateGameModel(GameInput, TraceInfo, boolean, TransFuncType, boolean, TriggerSFAGeneratorType, RegExpSFAGeneratorType)}
+	 */
+	private static Map<Spec, BDD> bddMemo = null;
+	private static int memoLookups;
+	private static int memoHits;
+
+	/**
+	 * reuse the BDD vectors of equal arithmetic sub-expressions (e.g., adders and
+	 * multipliers) across constraints while a game model is generated
+	 */
+	static public boolean CACHE_BDD_VECTORS = true;
+
+	/**
+	 * BDD vectors of arithmetic sub-expressions by their structure (see
+	 * {@link #vectorKey(Spec)}), only filled during the generation of a game model
+	 */
+	private static Map<String, BDDBitVector> vectorCache = null;
+	private static Map<Spec, String> vectorKeys = null;
+
 	/**
 	 * part of spec to create trace info for (BehaviorInfo)
 	 *
@@ -138,6 +182,17 @@ public static GameModel generateGameModel(GameInput input, TraceInfo trace, bool
 			TransFuncType transFunc, boolean debugLog, TriggerSFAGeneratorType triggerSfaGenType, RegExpSFAGeneratorType regExpSfaGenType) {
 		if (debugLog) System.out.println("groupVars = " + groupVars + ", transFunc = " + transFunc);
 		GameModel model = new GameModel();
+		freeCaches(); // left over from a failed generation
+		indexSelections = new HashMap<>();
+		if (MEMOIZE_BDDS) {
+			bddMemo = new IdentityHashMap<>();
+			memoLookups = 0;
+			memoHits = 0;
+		}
+		if (CACHE_BDD_VECTORS) {
+			vectorCache = new HashMap<>();
+			vectorKeys = new IdentityHashMap<>();
+		}
 
 		Player env = input.getEnv();
 		Player sys = input.getSys();
@@ -154,9 +209,13 @@ public static GameModel generateGameModel(GameInput input, TraceInfo trace, bool
 		}
 
 		// first create all variables (might be used in expressions)
-		createModuleVars(envMod, env, false);
-		createModuleVars(sysMod, sys, false);
-		createModuleVars(sysMod, aux, true);
+		if (STATIC_VAR_ORDER || VAR_ORDER_FILE != null) {
+			createVarsInOrder(envMod, sysMod, input, debugLog);
+		} else {
+			createModuleVars(envMod, env, false);
+			createModuleVars(sysMod, sys, false);
+			createModuleVars(sysMod, aux, true);
+		}
 
 		int env_vars_all = 0;
 		int sys_vars_all = 0;
@@ -247,6 +306,14 @@ public static GameModel generateGameModel(GameInput input, TraceInfo trace, bool
 		model.setEnv(envMod);
 		model.setSys(sysMod);
 
+		if (bddMemo != null) {
+			if (debugLog) System.out.println("BDD memo hits: " + memoHits + " of " + memoLookups + " lookups ("
+					+ String.format("%.1f", memoLookups == 0 ? 0.0 : 100.0 * memoHits / memoLookups) + "%)");
+		}
+		if (vectorCache != null) {
+			if (debugLog) System.out.println("Cached BDD vectors: " + vectorCache.size());
+		}
+		freeCaches();
 
 		return model;
 	}
@@ -467,7 +534,10 @@ private static List<BehaviorInfo> createModuleConstraints(PlayerModule m, Player
 		if (debugLog) System.out.println("Spec Stats "+type_str+" initial: " + n_ini);
 		if (debugLog) System.out.println("Spec Stats "+type_str+" safety: " + n_safety);
 		if (debugLog) System.out.println("Spec Stats "+type_str+" justices: " + n_justice);
-		if (debugLog) System.out.println("Spec Stats "+type_str+" trans size: " + m.trans().nodeCount());
+		// (do not build the single transition relation of a decomposed module only for the stats)
+		if (debugLog && (m.getTransFuncType() == TransFuncType.SINGLE_FUNC || !PlayerModule.LAZY_SINGLE_TRANS)) {
+			System.out.println("Spec Stats "+type_str+" trans size: " + m.trans().nodeCount());
+		}
 
 		return info;
 	}
@@ -579,6 +649,57 @@ public static BDD createBdd(Spec spec, int traceId) {
 	 * @return
 	 */
 	public static BDD createBdd(Spec spec, int traceId, boolean useLinearExpAlg) {
+		if (bddMemo == null || !(spec instanceof SpecExp)) {
+			return translateSpec(spec, traceId, useLinearExpAlg);
+		}
+		memoLookups++;
+		BDD res = bddMemo.get(spec);
+		if (res != null) {
+			memoHits++;
+		} else {
+			res = translateSpec(spec, traceId, useLinearExpAlg);
+			bddMemo.put(spec, res);
+		}
+		return res.id();
+	}
+
+	private static void freeCaches() {
+		if (bddMemo != null) {
+			Env.free(bddMemo);
+			bddMemo = null;
+		}
+		if (vectorCache != null) {
+			for (BDDBitVector v : vectorCache.values()) {
+				v.free();
+			}
+			vectorCache = null;
+			vectorKeys = null;
+		}
+		if (indexSelections != null) {
+			for (Map<String, BDD> selection : indexSelections.values()) {
+				Env.free(selection);
+			}
+			indexSelections = null;
+		}
+	}
+
+	/**
+	 * @return number of memoized translations reused during the last generation
+	 *         of a game model
+	 */
+	public static int getMemoHits() {
+		return memoHits;
+	}
+
+	/**
+	 * @return number of lookups of translations during the last generation of a
+	 *         game model
+	 */
+	public static int getMemoLookups() {
+		return memoLookups;
+	}
+
+	private static BDD translateSpec(Spec spec, int traceId, boolean useLinearExpAlg) {
 		if (spec instanceof PrimitiveValue) {
 			PrimitiveValue pv = (PrimitiveValue) spec;
 			if ("TRUE".equals(pv.getValue())) {
@@ -599,6 +720,9 @@ public static BDD createBdd(Spec spec, int traceId, boolean useLinearExpAlg) {
 		}
 		else if (spec instanceof VariableReference) {
 			VariableReference vr = (VariableReference) spec;
+			if (vr.isPropSpec() && hasVariableIndexes(vr)) { //an element of a boolean array
+				return createIndexedReference(vr, traceId);
+			}
 			if (vr.isPropSpec()) { //a boolean variable
 				return Env.getBDDValue(vr.getReferenceName(), "true").id();
 			} else {
@@ -609,6 +733,13 @@ else if (spec instanceof VariableReference) {
 			SpecExp e = (SpecExp) spec;
 			Operator op = e.getOperator();
 
+			if (Operator.EQUALS.equals(op) || op.isInequality()) {
+				VariableReference indexed = findVariableIndexReference(e);
+				if (indexed != null) { /* select the array element symbolically */
+					return createIndexedExpression(e, indexed, traceId, useLinearExpAlg);
+				}
+			}
+
 			if (Operator.EQUALS.equals(op)) { /* equality expression */
 				return createEqualsExpression(e.getChildren()[0], e.getChildren()[1], traceId, useLinearExpAlg);
 			}
@@ -622,6 +753,216 @@ else if (spec instanceof VariableReference) {
 		throw new BDDTranslationException("Unable to translate: " + spec, traceId);
 	}
 
+	/**
+	 * selections of array elements by variable indexes (see
+	 * {@link #getIndexSelection(VariableReference, int)}), shared by all
+	 * constraints of a game model (null outside of
+	 * {@link #generateGameModel(GameInput)})
+	 */
+	private static Map<String, Map<String, BDD>> indexSelections = null;
+
+	/**
+	 * @param vr
+	 * @return true if vr is an array reference with indexes that depend on
+	 *         variables
+	 */
+	protected static boolean hasVariableIndexes(VariableReference vr) {
+		return vr.getIndexVars() != null && !vr.getIndexVars().isEmpty();
+	}
+
+	/**
+	 * Finds an array reference with variable indexes in an equality or inequality
+	 * expression (not below propositional operators, which are translated
+	 * separately).
+	 * 
+	 * @param exp
+	 * @return the reference or null if there is none
+	 */
+	protected static VariableReference findVariableIndexReference(SpecExp exp) {
+		for (Spec child : exp.getChildren()) {
+			if (child instanceof VariableReference && hasVariableIndexes((VariableReference) child)) {
+				return (VariableReference) child;
+			}
+			if (child instanceof SpecExp && ((SpecExp) child).getOperator().isArithmetic()) {
+				VariableReference vr = findVariableIndexReference((SpecExp) child);
+				if (vr != null) {
+					return vr;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Computes for every element of the array that the reference may select the
+	 * condition on the index variables under which it is selected. During the
+	 * generation of a game model the selection is built once per array and index
+	 * expressions and cached. For a primed reference the elements and the
+	 * conditions are primed.
+	 * 
+	 * @param vr
+	 *          array reference with variable indexes
+	 * @param traceId
+	 * @return mapping of reference names of array elements to their selection
+	 *         conditions (release with {@link #releaseIndexSelection(Map)})
+	 */
+	protected static Map<String, BDD> getIndexSelection(VariableReference vr, int traceId) {
+		boolean primed = vr.getReferenceName().endsWith("'");
+		StringBuilder key = new StringBuilder(vr.getVariable().getName());
+		for (Spec index : vr.getIndexSpecs()) {
+			key.append('[').append(indexKey(index)).append(']');
+		}
+		if (primed) {
+			key.append('\'');
+		}
+
+		Map<String, BDD> selection = indexSelections == null ? null : indexSelections.get(key.toString());
+		if (selection == null) {
+			selection = new HashMap<>();
+			addIndexSelection(vr, new ArrayList<>(vr.getIndexVars().values()), 0, vr.getIndexSpecs(), Env.TRUE(),
+					selection, traceId);
+			if (primed) {
+				Map<String, BDD> primedSelection = new HashMap<>();
+				for (Map.Entry<String, BDD> sel : selection.entrySet()) {
+					primedSelection.put(sel.getKey() + "'", Env.prime(sel.getValue()));
+					sel.getValue().free();
+				}
+				selection = primedSelection;
+			}
+			if (indexSelections != null) {
+				indexSelections.put(key.toString(), selection);
+			}
+		}
+		return selection;
+	}
+
+	/**
+	 * frees a selection of {@link #getIndexSelection(VariableReference, int)}
+	 * unless it is cached
+	 */
+	private static void releaseIndexSelection(Map<String, BDD> selection) {
+		if (indexSelections == null) {
+			Env.free(selection);
+		}
+	}
+
+	/**
+	 * enumerates the values of the index variables from position i on
+	 */
+	private static void addIndexSelection(VariableReference vr, List<Variable> indexVars, int i, List<Spec> indexSpecs,
+			BDD cond, Map<String, BDD> selection, int traceId) {
+		if (cond.isZero()) {
+			cond.free();
+			return;
+		}
+		if (i == indexVars.size()) {
+			String refName = vr.getVariable().getName();
+			for (int d = 0; d < indexSpecs.size(); d++) {
+				int indexValue;
+				try {
+					indexValue = SpecHelper.calculateSpec(indexSpecs.get(d));
+				} catch (Exception e) {
+					throw new BDDTranslationException(e.getMessage(), traceId);
+				}
+				if (indexValue < 0 || indexValue >= vr.getIndexDimensions().get(d)) {
+					throw new BDDTranslationException(String.format("Index %d out of bounds for variable %s", indexValue,
+							vr.getVariable().getName()), traceId);
+				}
+				refName += String.format("[%d]", indexValue);
+			}
+			BDD sel = selection.get(refName);
+			if (sel == null) {
+				selection.put(refName, cond);
+			} else {
+				sel.orWith(cond);
+			}
+			return;
+		}
+
+		Variable var = indexVars.get(i);
+		for (PrimitiveValue val : var.getType().getPrimitivesList()) {
+			List<Spec> interpreted = new ArrayList<>();
+			try {
+				for (Spec index : indexSpecs) {
+					interpreted.add(SpecHelper.interpretWithVariable(index, var, val));
+				}
+			} catch (Exception e) {
+				throw new BDDTranslationException(e.getMessage(), traceId);
+			}
+			BDD valCond = cond.and(Env.getBDDValue(var.getName(), val.getValue()));
+			addIndexSelection(vr, indexVars, i + 1, interpreted, valCond, selection, traceId);
+		}
+		cond.free();
+	}
+
+	private static String indexKey(Spec index) {
+		if (index instanceof VariableReference) {
+			return ((VariableReference) index).getReferenceName();
+		}
+		if (index instanceof PrimitiveValue) {
+			return ((PrimitiveValue) index).getValue();
+		}
+		if (index instanceof SpecExp) {
+			StringBuilder key = new StringBuilder(((SpecExp) index).getOperator().toString()).append('(');
+			for (Spec child : ((SpecExp) index).getChildren()) {
+				key.append(indexKey(child)).append(',');
+			}
+			return key.append(')').toString();
+		}
+		return index.toString();
+	}
+
+	/**
+	 * Translates a Boolean array reference with variable indexes to the
+	 * disjunction over the selected elements.
+	 */
+	protected static BDD createIndexedReference(VariableReference vr, int traceId) {
+		BDD res = Env.FALSE();
+		Map<String, BDD> selection = getIndexSelection(vr, traceId);
+		for (Map.Entry<String, BDD> sel : selection.entrySet()) {
+			res.orWith(sel.getValue().and(Env.getBDDValue(sel.getKey(), "true")));
+		}
+		releaseIndexSelection(selection);
+		return res;
+	}
+
+	/**
+	 * Translates an (in)equality expression that contains an array reference with
+	 * variable indexes to the disjunction over the selected elements of the
+	 * expression where the reference is replaced by the element.
+	 */
+	protected static BDD createIndexedExpression(SpecExp exp, VariableReference vr, int traceId,
+			boolean useLinearExpAlg) {
+		BDD res = Env.FALSE();
+		Map<String, BDD> selection = getIndexSelection(vr, traceId);
+		for (Map.Entry<String, BDD> sel : selection.entrySet()) {
+			Spec element = replaceReference(exp, vr, new VariableReference(vr.getVariable(), sel.getKey()));
+			// element is a fresh copy, so a memoized translation would never be reused
+			BDD elementBdd = translateSpec(element, traceId, useLinearExpAlg);
+			res.orWith(elementBdd.andWith(sel.getValue().id()));
+		}
+		releaseIndexSelection(selection);
+		return res;
+	}
+
+	/**
+	 * @return a copy of the path from spec to ref where ref is replaced by elem
+	 */
+	private static Spec replaceReference(Spec spec, VariableReference ref, Spec elem) {
+		if (spec == ref) {
+			return elem;
+		}
+		if (spec instanceof SpecExp) {
+			SpecExp e = (SpecExp) spec;
+			if (e.getChildren().length == 1) {
+				return new SpecExp(e.getOperator(), replaceReference(e.getChildren()[0], ref, elem));
+			}
+			return new SpecExp(e.getOperator(), replaceReference(e.getChildren()[0], ref, elem),
+					replaceReference(e.getChildren()[1], ref, elem));
+		}
+		return spec;
+	}
+
 	protected static BDD createPropExpression(Spec c1, Spec c2, Operator propOp, int traceId, boolean useLinearExpAlg) {
 		BDD bddC2 = null;
 		BDD bddC1 = createBdd(c1, traceId, useLinearExpAlg);
@@ -1390,6 +1731,47 @@ protected static BDD createGeneralEqualsExpression(Spec c1, Spec c2, int traceId
 	 * @return
 	 */
 	protected static BDDBitVector computeBddVectorFromExpression(Spec exp, int traceId) {
+		if (vectorCache == null || exp instanceof PrimitiveValue) {
+			return translateBddVector(exp, traceId);
+		}
+		String key = vectorKey(exp);
+		BDDBitVector res = vectorCache.get(key);
+		if (res == null) {
+			res = translateBddVector(exp, traceId);
+			vectorCache.put(key, res);
+		}
+		return res.copy();
+	}
+
+	/**
+	 * A key of an arithmetic expression that identifies its BDD vector: the
+	 * operators, the constants and the referenced variables (which determine the
+	 * domains). Keys of shared nodes are computed once.
+	 * 
+	 * @param exp
+	 * @return
+	 */
+	private static String vectorKey(Spec exp) {
+		if (exp instanceof PrimitiveValue) {
+			return ((PrimitiveValue) exp).getValue();
+		}
+		if (exp instanceof VariableReference) {
+			return "<" + ((VariableReference) exp).getReferenceName() + ">";
+		}
+		String key = vectorKeys.get(exp);
+		if (key == null) {
+			SpecExp sExp = (SpecExp) exp;
+			StringBuilder b = new StringBuilder("(").append(sExp.getOperator());
+			for (Spec c : sExp.getChildren()) {
+				b.append(' ').append(vectorKey(c));
+			}
+			key = b.append(')').toString();
+			vectorKeys.put(exp, key);
+		}
+		return key;
+	}
+
+	private static BDDBitVector translateBddVector(Spec exp, int traceId) {
 		if (exp instanceof PrimitiveValue) {
 			int val = Integer.parseInt(((PrimitiveValue) exp).getValue());
 			return Env.createBddVector(BigInteger.valueOf(val));
@@ -1578,10 +1960,62 @@ protected static BDD createTwoVarsEqualsExpression(VariableReference r1, Variabl
 
 	private static void createModuleVars(PlayerModule m, Player p, boolean aux) {
 		for (Variable v : p.getVars()) {
-			if (v.getType().isArray()) {
-				addArrayVars(m, v.getName(), v.getType().getDimensions(), v.getType(), aux, v.getTraceId());
+			createModuleVar(m, v, aux);
+		}
+	}
+
+	private static void createModuleVar(PlayerModule m, Variable v, boolean aux) {
+		if (v.getType().isArray()) {
+			addArrayVars(m, v.getName(), v.getType().getDimensions(), v.getType(), aux, v.getTraceId());
+		} else {
+			addVar(m, v.getName(), v.getType(), aux, v.getTraceId());
+		}
+	}
+
+	/**
+	 * Creates the variables of env, sys, and aux in the order loaded from
+	 * {@link #VAR_ORDER_FILE} or computed by {@link VarOrderHeuristic}.
+	 * 
+	 * @param envMod
+	 * @param sysMod
+	 * @param input
+	 * @param debugLog
+	 */
+	private static void createVarsInOrder(PlayerModule envMod, PlayerModule sysMod, GameInput input, boolean debugLog) {
+		List<Variable> order = null;
+		if (VAR_ORDER_FILE != null && new File(VAR_ORDER_FILE).exists()) {
+			try {
+				order = VarOrderHeuristic.loadOrder(input, VAR_ORDER_FILE);
+				if (debugLog) System.out.println("Loaded variable order from " + VAR_ORDER_FILE);
+			} catch (IOException e) {
+				System.err.println("Could not load variable order from " + VAR_ORDER_FILE + ": " + e.getMessage());
+			}
+		}
+		if (order == null) {
+			order = VarOrderHeuristic.computeOrder(input);
+			if (VAR_ORDER_FILE != null) {
+				try {
+					VarOrderHeuristic.saveOrder(order, VAR_ORDER_FILE);
+				} catch (IOException e) {
+					System.err.println("Could not save variable order to " + VAR_ORDER_FILE + ": " + e.getMessage());
+				}
+			}
+		}
+		if (debugLog) System.out.println("Variable order: " + order.stream().map(Variable::getName).collect(Collectors.toList()));
+
+		Set<String> envVars = new HashSet<>();
+		for (Variable v : input.getEnv().getVars()) {
+			envVars.add(v.getName());
+		}
+		Set<String> auxVars = new HashSet<>();
+		for (Variable v : input.getAux().getVars()) {
+			auxVars.add(v.getName());
+		}
+		for (Variable v : order) {
+			if (envVars.contains(v.getName())) {
+				createModuleVar(envMod, v, false);
 			} else {
-				addVar(m, v.getName(), v.getType(), aux, v.getTraceId());
+				createModuleVar(sysMod, v, auxVars.contains(v.getName()));
 			}
 		}
 	}
@@ -0,0 +1,271 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.bddgenerator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import tau.smlab.syntech.gameinput.model.Constraint;
+import tau.smlab.syntech.gameinput.model.ExistentialConstraint;
+import tau.smlab.syntech.gameinput.model.GameInput;
+import tau.smlab.syntech.gameinput.model.Player;
+import tau.smlab.syntech.gameinput.model.Variable;
+import tau.smlab.syntech.gameinput.model.WeightDefinition;
+import tau.smlab.syntech.gameinput.spec.Spec;
+import tau.smlab.syntech.gameinput.spec.SpecExp;
+import tau.smlab.syntech.gameinput.spec.VariableReference;
+
+/**
+ * Computes a static order of the variables of a (translated) game input before
+ * any BDD is built. The BDD variables of a module variable are allocated in
+ * the order in which the variables are created, so variables that appear
+ * together in constraints should be created close to each other.
+ * 
+ * The order is computed with the FORCE heuristic (Aloul, Markov, Sakallah) on
+ * the hypergraph whose edges are the supports of the constraints: every
+ * variable is moved to the average center of gravity of its edges until the
+ * total span of the edges does not decrease anymore.
+ *
+ */
+public class VarOrderHeuristic {
+
+	/**
+	 * maximal number of FORCE iterations
+	 */
+	static public int MAX_ITERATIONS = 50;
+
+	/**
+	 * @param input
+	 * @return all variables of env, sys, and aux in the order computed by FORCE
+	 */
+	public static List<Variable> computeOrder(GameInput input) {
+		List<Variable> vars = declaredVars(input);
+		Map<String, Integer> idx = new HashMap<>();
+		for (int i = 0; i < vars.size(); i++) {
+			idx.put(vars.get(i).getName(), i);
+		}
+		List<int[]> edges = supports(input, idx);
+
+		int n = vars.size();
+		double[] pos = new double[n];
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			pos[i] = i;
+			order[i] = i;
+		}
+		Integer[] best = order.clone();
+		long bestSpan = span(edges, pos);
+
+		for (int it = 0; it < MAX_ITERATIONS; it++) {
+			// move every variable to the average center of gravity of its edges
+			double[] sum = new double[n];
+			int[] cnt = new int[n];
+			for (int[] e : edges) {
+				double cog = 0;
+				for (int v : e) {
+					cog += pos[v];
+				}
+				cog /= e.length;
+				for (int v : e) {
+					sum[v] += cog;
+					cnt[v]++;
+				}
+			}
+			double[] target = new double[n];
+			for (int v = 0; v < n; v++) {
+				target[v] = cnt[v] == 0 ? pos[v] : sum[v] / cnt[v];
+			}
+			Arrays.sort(order, Comparator.comparingDouble(v -> target[v]));
+			for (int i = 0; i < n; i++) {
+				pos[order[i]] = i;
+			}
+
+			long span = span(edges, pos);
+			if (span >= bestSpan) {
+				break;
+			}
+			bestSpan = span;
+			best = order.clone();
+		}
+
+		List<Variable> res = new ArrayList<>();
+		for (int v : best) {
+			res.add(vars.get(v));
+		}
+		return res;
+	}
+
+	/**
+	 * Saves the names of the variables in the given order (one per line).
+	 * 
+	 * @param order
+	 * @param fileName
+	 * @throws IOException
+	 */
+	public static void saveOrder(List<Variable> order, String fileName) throws IOException {
+		try (BufferedWriter w = new BufferedWriter(new FileWriter(fileName))) {
+			for (Variable v : order) {
+				w.write(v.getName());
+				w.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Loads an order saved by {@link #saveOrder(List, String)}. Variables of the
+	 * game input that are not in the file (e.g., after a change of the
+	 * specification) follow in declaration order, names of unknown variables are
+	 * ignored.
+	 * 
+	 * @param input
+	 * @param fileName
+	 * @return all variables of env, sys, and aux
+	 * @throws IOException
+	 */
+	public static List<Variable> loadOrder(GameInput input, String fileName) throws IOException {
+		Map<String, Variable> byName = new HashMap<>();
+		for (Variable v : declaredVars(input)) {
+			byName.put(v.getName(), v);
+		}
+		Set<String> names = new LinkedHashSet<>();
+		try (BufferedReader r = new BufferedReader(new FileReader(fileName))) {
+			String line;
+			while ((line = r.readLine()) != null) {
+				line = line.trim();
+				if (byName.containsKey(line)) {
+					names.add(line);
+				}
+			}
+		}
+		List<Variable> res = new ArrayList<>();
+		for (String name : names) {
+			res.add(byName.get(name));
+		}
+		for (Variable v : declaredVars(input)) {
+			if (!names.contains(v.getName())) {
+				res.add(v);
+			}
+		}
+		return res;
+	}
+
+	private static List<Variable> declaredVars(GameInput input) {
+		List<Variable> vars = new ArrayList<>();
+		vars.addAll(input.getEnv().getVars());
+		vars.addAll(input.getSys().getVars());
+		vars.addAll(input.getAux().getVars());
+		return vars;
+	}
+
+	/**
+	 * @return the sum of the spans of all edges
+	 */
+	private static long span(List<int[]> edges, double[] pos) {
+		long span = 0;
+		for (int[] e : edges) {
+			double min = Double.MAX_VALUE;
+			double max = -Double.MAX_VALUE;
+			for (int v : e) {
+				min = Math.min(min, pos[v]);
+				max = Math.max(max, pos[v]);
+			}
+			span += (long) (max - min);
+		}
+		return span;
+	}
+
+	/**
+	 * @return the supports (indexes of variables) of all constraints with at least
+	 *         two variables
+	 */
+	private static List<int[]> supports(GameInput input, Map<String, Integer> idx) {
+		List<Spec> specs = new ArrayList<>();
+		for (Player p : Arrays.asList(input.getEnv(), input.getSys(), input.getAux())) {
+			for (Constraint c : p.getConstraints()) {
+				specs.add(c.getSpec());
+			}
+			for (ExistentialConstraint c : p.getExistentialConstraints()) {
+				if (!c.isRegExp()) {
+					specs.addAll(c.getSpecs());
+				}
+			}
+		}
+		for (WeightDefinition wd : input.getWeightDefs()) {
+			specs.add(wd.getDefinition().getSpec());
+		}
+
+		List<int[]> edges = new ArrayList<>();
+		for (Spec s : specs) {
+			Set<Integer> supp = new LinkedHashSet<>();
+			addSupport(s, idx, supp);
+			if (supp.size() > 1) {
+				int[] e = new int[supp.size()];
+				int i = 0;
+				for (int v : supp) {
+					e[i++] = v;
+				}
+				edges.add(e);
+			}
+		}
+		return edges;
+	}
+
+	private static void addSupport(Spec spec, Map<String, Integer> idx, Set<Integer> supp) {
+		if (spec instanceof VariableReference) {
+			VariableReference vr = (VariableReference) spec;
+			Integer v = idx.get(vr.getVariable().getName());
+			if (v != null) {
+				supp.add(v);
+			}
+			if (vr.getIndexVars() != null) {
+				for (Variable iv : vr.getIndexVars().values()) {
+					Integer i = idx.get(iv.getName());
+					if (i != null) {
+						supp.add(i);
+					}
+				}
+			}
+		} else if (spec instanceof SpecExp) {
+			for (Spec c : ((SpecExp) spec).getChildren()) {
+				addSupport(c, idx, supp);
+			}
+		}
+	}
+}
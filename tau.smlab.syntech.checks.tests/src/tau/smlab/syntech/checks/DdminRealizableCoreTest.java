@@ -0,0 +1,170 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.checks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
+import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.gamemodel.PlayerModule.TransFuncType;
+import tau.smlab.syntech.gamemodel.util.GameBuilderUtil;
+import tau.smlab.syntech.games.gr1.GR1Game;
+import tau.smlab.syntech.games.util.AbstractDdmin.Strategy;
+import tau.smlab.syntech.jtlv.Env;
+
+public class DdminRealizableCoreTest {
+
+	private GameModel model;
+	private List<BehaviorInfo> asms;
+
+	/**
+	 * The system has to visit s and t infinitely often but may set s only while
+	 * e1 & !e2 and t only while e4. Only the assumptions GF(e1 & !e2) and GF(e4)
+	 * are required for realizability. The system loses from all states with d, so
+	 * the winning regions are not trivial.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Env.resetEnv();
+		model = new GameModel();
+		PlayerModule env = new PlayerModule();
+		env.setName("env");
+		env.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		PlayerModule sys = new PlayerModule();
+		sys.setName("sys");
+		sys.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		model.setEnv(env);
+		model.setSys(sys);
+		for (String e : new String[] { "e1", "e2", "e3", "e4" }) {
+			env.addVar(e, false, true);
+		}
+		sys.addVar("s", false, true);
+		sys.addVar("t", false, true);
+		sys.addVar("d", false, true);
+
+		List<BehaviorInfo> gars = new ArrayList<BehaviorInfo>();
+		gars.add(safety(val("s'").imp(val("e1'").and(val("e2'").not())), 1));
+		gars.add(safety(val("t'").imp(val("e4'")), 2));
+		gars.add(new BehaviorInfo(val("d").not(), null, null, null, null, 5, false));
+		gars.add(safety(val("d").imp(val("d'").and(val("t'").not())), 6));
+		gars.add(justice(val("s"), 3));
+		gars.add(justice(val("t"), 4));
+		GameBuilderUtil.buildSys(model, gars);
+
+		asms = new ArrayList<BehaviorInfo>();
+		asms.add(new BehaviorInfo(val("e1").not(), null, null, null, null, 10, false));
+		asms.add(safety(val("e2'").imp(val("e3'")), 11));
+		asms.add(justice(val("e1").and(val("e2").not()), 12));
+		asms.add(justice(val("e3"), 13));
+		asms.add(safety(val("e1").imp(val("e1'").not()), 14));
+		asms.add(justice(val("e4"), 15));
+		GameBuilderUtil.buildEnv(model, asms);
+	}
+
+	@After
+	public void tearDown() {
+		model.free();
+		Env.resetEnv();
+	}
+
+	@Test
+	public void warmStartComputesColdCore() {
+		List<BehaviorInfo> cold = new DdminRealizableCore(model) {
+			@Override
+			public boolean realizable(GameModel gm) {
+				return checkGR1(gm);
+			}
+		}.minimize(asms);
+		List<BehaviorInfo> warm = warmStartCore(Strategy.DDMIN);
+
+		assertEquals(cold, warm);
+		assertMinimalCore(warm);
+	}
+
+	@Test
+	public void allStrategiesComputeMinimalCore() {
+		for (Strategy s : Strategy.values()) {
+			assertMinimalCore(warmStartCore(s));
+		}
+	}
+
+	private List<BehaviorInfo> warmStartCore(Strategy strategy) {
+		DdminRealizableCore ddmin = new DdminRealizableCore(model);
+		ddmin.setStrategy(strategy);
+		return ddmin.minimize(new ArrayList<BehaviorInfo>(asms));
+	}
+
+	private void assertMinimalCore(List<BehaviorInfo> core) {
+		assertEquals(2, core.size());
+		assertEquals(12, core.get(0).traceId);
+		assertEquals(15, core.get(1).traceId);
+
+		assertTrue(realizableWith(core));
+		for (BehaviorInfo b : core) {
+			List<BehaviorInfo> smaller = new ArrayList<BehaviorInfo>(core);
+			smaller.remove(b);
+			assertFalse(realizableWith(smaller));
+		}
+	}
+
+	private boolean realizableWith(List<BehaviorInfo> part) {
+		GameBuilderUtil.buildEnv(model, part);
+		return checkGR1(model);
+	}
+
+	private static boolean checkGR1(GameModel gm) {
+		GR1Game gr1 = new GR1Game(gm);
+		boolean realizable = gr1.checkRealizability();
+		gr1.free();
+		return realizable;
+	}
+
+	private static BDD val(String var) {
+		return Env.getBDDValue(var, "true").id();
+	}
+
+	private static BehaviorInfo safety(BDD safety, int traceId) {
+		return new BehaviorInfo(null, safety, null, null, null, traceId, false);
+	}
+
+	private static BehaviorInfo justice(BDD justice, int traceId) {
+		return new BehaviorInfo(null, null, justice, null, null, traceId, false);
+	}
+}
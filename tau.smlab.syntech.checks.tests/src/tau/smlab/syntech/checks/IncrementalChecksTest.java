@@ -0,0 +1,138 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.checks;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
+import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.gamemodel.PlayerModule.TransFuncType;
+import tau.smlab.syntech.gamemodel.util.GameBuilderUtil;
+import tau.smlab.syntech.jtlv.Env;
+
+public class IncrementalChecksTest {
+
+	@Before
+	public void setUp() {
+		Env.resetEnv();
+	}
+
+	@After
+	public void tearDown() {
+		Checker.INCREMENTAL_CHECKS = true;
+		Env.resetEnv();
+	}
+
+	/**
+	 * Every checks run builds a new model of the same spec, as ChecksJob does.
+	 * Adding and removing a guarantee has to give the results of a check from
+	 * scratch.
+	 */
+	@Test
+	public void editsGiveResultsFromScratch() throws Exception {
+		assertSameResults(spec(false), 0, 1);
+		assertSameResults(spec(true), 1, 1);
+		assertSameResults(spec(false), 0, 1);
+		assertSameResults(spec(false), 0, 1);
+	}
+
+	@Test
+	public void resultsSurviveEnvReset() throws Exception {
+		assertSameResults(spec(true), 1, 1);
+		Env.resetEnv();
+		assertSameResults(spec(true), 1, 1);
+		assertSameResults(spec(false), 0, 1);
+	}
+
+	private void assertSameResults(GameModel model, int unreachable, int trivial) {
+		Checker.INCREMENTAL_CHECKS = false;
+		List<BehaviorInfo> unreachableScratch = new Checker().computeUnreachableJustice(model);
+		List<BehaviorInfo> trivialScratch = new Checker().computeTrivialSpecs(model);
+		Checker.INCREMENTAL_CHECKS = true;
+		List<BehaviorInfo> unreachableIncremental = new Checker().computeUnreachableJustice(model);
+		List<BehaviorInfo> trivialIncremental = new Checker().computeTrivialSpecs(model);
+
+		assertEquals(unreachable, unreachableScratch.size());
+		assertEquals(unreachableScratch, unreachableIncremental);
+		assertEquals(trivial, trivialScratch.size());
+		assertEquals(trivialScratch, trivialIncremental);
+		model.free();
+	}
+
+	/**
+	 * The system visits a and b infinitely often and may set a only with e. The
+	 * guarantee with traceId 4 makes b unreachable.
+	 */
+	private static GameModel spec(boolean withNotB) throws Exception {
+		GameModel model = new GameModel();
+		PlayerModule env = new PlayerModule();
+		env.setName("env");
+		env.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		PlayerModule sys = new PlayerModule();
+		sys.setName("sys");
+		sys.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		model.setEnv(env);
+		model.setSys(sys);
+		env.addVar("e", false, true);
+		sys.addVar("a", false, true);
+		sys.addVar("b", false, true);
+
+		List<BehaviorInfo> gars = new ArrayList<BehaviorInfo>();
+		gars.add(justice(val("a"), 1));
+		gars.add(justice(val("b"), 2));
+		gars.add(new BehaviorInfo(null, val("a'").imp(val("e'")), null, null, null, 3, false));
+		if (withNotB) {
+			gars.add(new BehaviorInfo(val("b").not(), val("b'").not(), null, null, null, 4, false));
+		}
+		gars.add(justice(Env.TRUE(), 5));
+		GameBuilderUtil.buildSys(model, gars);
+
+		List<BehaviorInfo> asms = new ArrayList<BehaviorInfo>();
+		asms.add(justice(val("e"), 10));
+		GameBuilderUtil.buildEnv(model, asms);
+		return model;
+	}
+
+	private static BDD val(String var) {
+		return Env.getBDDValue(var, "true").id();
+	}
+
+	private static BehaviorInfo justice(BDD justice, int traceId) {
+		return new BehaviorInfo(null, null, justice, null, null, traceId, false);
+	}
+}
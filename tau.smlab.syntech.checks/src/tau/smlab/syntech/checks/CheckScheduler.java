@@ -0,0 +1,122 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.checks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
+
+/**
+ * Runs a list of checks and hands every result to its handler as soon as the
+ * check is done. The handler decides whether the remaining checks still run.
+ * 
+ * Checks run one after the other in the order they were added, see
+ * {@link tau.smlab.syntech.jtlv.Env}. Cancellation is cooperative: the
+ * scheduler stops before the next check when {@link #cancel()} was called or
+ * the running thread was interrupted, and long running checks (e.g., delta
+ * debugging) stop at their next cancellation point.
+ *
+ */
+public class CheckScheduler {
+
+  /**
+   * print the running time of every check
+   */
+  static public boolean PRINT_TIMES = false;
+
+  private static class ScheduledCheck {
+    private String name;
+    private Supplier<List<BehaviorInfo>> check;
+    private Predicate<List<BehaviorInfo>> handler;
+  }
+
+  private List<ScheduledCheck> checks = new ArrayList<>();
+  private volatile boolean cancelled = false;
+
+  /**
+   * add a check to the end of the schedule
+   * 
+   * @param name
+   *          name of the check for the log
+   * @param check
+   *          computes the behaviors that have an issue
+   * @param handler
+   *          reports the result and returns true if the next checks should run
+   */
+  public void add(String name, Supplier<List<BehaviorInfo>> check, Predicate<List<BehaviorInfo>> handler) {
+    ScheduledCheck c = new ScheduledCheck();
+    c.name = name;
+    c.check = check;
+    c.handler = handler;
+    checks.add(c);
+  }
+
+  /**
+   * stop before the next check
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled || Thread.currentThread().isInterrupted();
+  }
+
+  /**
+   * run the checks in order until a handler stops the schedule
+   * 
+   * @return true if all checks ran and no handler stopped the schedule, false if
+   *         a handler stopped it or it was cancelled
+   */
+  public boolean run() {
+    for (ScheduledCheck c : checks) {
+      if (isCancelled()) {
+        return false;
+      }
+      long start = System.currentTimeMillis();
+      List<BehaviorInfo> issues;
+      try {
+        issues = c.check.get();
+      } catch (CancellationException e) {
+        return false;
+      }
+      if (PRINT_TIMES) {
+        System.out.println("Check " + c.name + ": " + (System.currentTimeMillis() - start) + "ms");
+      }
+      if (!c.handler.test(issues)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -64,6 +64,15 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
  */
 public class Checker {
 
+  /**
+   * update the results of the last checked model (of any Checker) instead of
+   * computing them from scratch in {@link #computeUnreachableJustice(GameModel)},
+   * {@link #checkCountersConsistency(GameModel, CounterTranslator)} and
+   * {@link #computeTrivialSpecs(GameModel)}
+   */
+  static public boolean INCREMENTAL_CHECKS = true;
+  private static IncrementalChecks incremental = new IncrementalChecks();
+
   private PlayerModule sys;
   private PlayerModule env;
   private String[] monitorCheckMessages;
@@ -127,10 +136,14 @@ public List<BehaviorInfo> computeUnreachableJustice(GameModel model) {
     env = model.getEnv();
     sys = model.getSys();
 
+    if (INCREMENTAL_CHECKS) {
+      return incremental.unreachableJustice(model);
+    }
+
     List<BehaviorInfo> unreachableJustice = new ArrayList<>();
 
     // compute reachable states, which are not immediate deadlocks for the system
-    BDD reach = Env.allSucc(env.initial().and(sys.initial()), env.trans().and(sys.trans()));
+    BDD reach = reachable(model);
     BDD dead = env.controlStates(sys, Env.FALSE());
     reach.andWith(dead.not());
     dead.free();
@@ -159,6 +172,21 @@ public List<BehaviorInfo> computeUnreachableJustice(GameModel model) {
     return unreachableJustice;
   }
 
+  /**
+   * reachable states of the most permissive environment and system
+   * 
+   * @param model
+   * @return reachable states (a fresh BDD)
+   */
+  private BDD reachable(GameModel model) {
+    if (INCREMENTAL_CHECKS) {
+      return incremental.reachable(model);
+    }
+    PlayerModule env = model.getEnv();
+    PlayerModule sys = model.getSys();
+    return Env.allSucc(env.initial().and(sys.initial()), env.trans().and(sys.trans()));
+  }
+
   /**
    * computes a minimal unsatisfiable subset of constraints INI or SAFETY
    * 
@@ -224,6 +252,10 @@ public List<BehaviorInfo> computeTrivialSpecs(GameModel model) {
     infos.addAll(model.getEnvBehaviorInfo());
     infos.addAll(model.getAuxBehaviorInfo());
 
+    if (INCREMENTAL_CHECKS) {
+      return incremental.trivialSpecs(infos);
+    }
+
     List<BehaviorInfo> trivial = new ArrayList<>();
     for (BehaviorInfo bi : infos) {
       if (bi.isInitial() && (bi.initial.isZero() || bi.initial.isOne())) {
@@ -500,7 +532,10 @@ private List<BehaviorInfo> getMonitorSpecList(String monName,
   public List<BehaviorInfo> checkMonitorsForCompleteness(GameModel gm, MonitorTranslator monitorTranslator,
       PastLTLTranslator pastLTLTranslator) {
 
-    List<BehaviorInfo> result;
+    if (monitorTranslator.getMonitorsNames().isEmpty()) {
+      return new ArrayList<>();
+    }
+
     Map<Integer, Set<BehaviorInfo>> traceIdtoBI = computeTraceIdtoBIMap(gm); //Note that the same traceId may have multiple Behavior infos
     Map<String, Set<BehaviorInfo>> safetyConstraints = new HashMap<>();
     Map<String, Set<BehaviorInfo>> pastSafetyConstraints = new HashMap<>();
@@ -508,48 +543,63 @@ public List<BehaviorInfo> checkMonitorsForCompleteness(GameModel gm, MonitorTran
     Map<String, Set<BehaviorInfo>> initialConstraints = new HashMap<>();
     Map<String, Set<VariableReference>> monNameToVarRefs = new HashMap<>();
 
+    // collect the constraints of all monitors in one pass
     for (String monName : monitorTranslator.getMonitorsNames()) {
       fillMonitorConstraints(gm, monName, monitorTranslator, pastLTLTranslator, traceIdtoBI,
           safetyConstraints, initialConstraints, pastSafetyConstraints, pastInitialConstraints, monNameToVarRefs);
+    }
 
-      //check for completeness
-      // build a symbolic controller from the monitor's definition
-
-      SymbolicController symCtrl = new SymbolicController();
-      symCtrl.initial().free();
-      symCtrl.trans().free();
-      symCtrl.setTrans(Env.TRUE());
+    // domain information and variables for messages are the same for all monitors
+    BDD doms = gm.getSys().getDoms().and(gm.getEnv().getDoms());
+    BDD domsIni = doms.exist(Env.globalPrimeVars());
+    BDDVarSet nonAuxVars = Env.union(gm.getSys().getNonAuxFields()).union(Env.union(gm.getEnv().getNonAuxFields()));
 
-      if (safetyConstraints.containsKey(monName)) {
-        for (BehaviorInfo bi : safetyConstraints.get(monName)) {
-          symCtrl.conjunctTransWith(bi.safety.id());
+    try {
+      for (String monName : monitorTranslator.getMonitorsNames()) {
+        //check for completeness
+        // build a symbolic controller from the monitor's definition
+
+        SymbolicController symCtrl = new SymbolicController();
+        symCtrl.initial().free();
+        symCtrl.trans().free();
+        symCtrl.setTrans(Env.TRUE());
+
+        if (safetyConstraints.containsKey(monName)) {
+          for (BehaviorInfo bi : safetyConstraints.get(monName)) {
+            symCtrl.conjunctTransWith(bi.safety.id());
+          }
         }
-      }
 
-      if (pastSafetyConstraints.containsKey(monName)) {
-        for (BehaviorInfo bi : pastSafetyConstraints.get(monName)) {
-          symCtrl.conjunctTransWith(bi.safety.id());
+        if (pastSafetyConstraints.containsKey(monName)) {
+          for (BehaviorInfo bi : pastSafetyConstraints.get(monName)) {
+            symCtrl.conjunctTransWith(bi.safety.id());
+          }
         }
-      }
 
-      BDD initials = Env.TRUE();
-      if (initialConstraints.containsKey(monName)) {
-        for (BehaviorInfo bi : initialConstraints.get(monName)) {
-          initials.andWith(bi.initial.id());
+        BDD initials = Env.TRUE();
+        if (initialConstraints.containsKey(monName)) {
+          for (BehaviorInfo bi : initialConstraints.get(monName)) {
+            initials.andWith(bi.initial.id());
+          }
         }
-      }
-      if (pastInitialConstraints.containsKey(monName)) {
-        for (BehaviorInfo bi : pastInitialConstraints.get(monName)) {
-          initials.andWith(bi.initial.id());
+        if (pastInitialConstraints.containsKey(monName)) {
+          for (BehaviorInfo bi : pastInitialConstraints.get(monName)) {
+            initials.andWith(bi.initial.id());
+          }
         }
-      }
-      symCtrl.setInit(initials);
+        symCtrl.setInit(initials);
 
-      result = performMonitorCompletenessCheck(gm, monName, monNameToVarRefs.get(monName), symCtrl, safetyConstraints,
-          initialConstraints);
-      if (!result.isEmpty()) {
-        return result;
+        List<BehaviorInfo> result = performMonitorCompletenessCheck(monName, monNameToVarRefs.get(monName), symCtrl,
+            doms, domsIni, nonAuxVars, safetyConstraints, initialConstraints);
+        symCtrl.free();
+        if (!result.isEmpty()) {
+          return result;
+        }
       }
+    } finally {
+      doms.free();
+      domsIni.free();
+      nonAuxVars.free();
     }
     // if we have reached here, the monitor has passed the check 
     return new ArrayList<>();
@@ -567,14 +617,29 @@ private void addConstraintToMonitor(Map<String, Set<BehaviorInfo>> constraints,
     constraintSet.add(bi);
   }
 
-  private List<BehaviorInfo> performMonitorCompletenessCheck(GameModel m, String monitorName,
-      Set<VariableReference> pastVarlist, SymbolicController ctrl,
+  /**
+   * checks completeness of a single monitor
+   * 
+   * @param monitorName
+   * @param pastVarlist
+   * @param ctrl
+   *          symbolic controller built from the monitor's definition
+   * @param doms
+   *          domains of all variables (shared by all monitors)
+   * @param domsIni
+   *          domains of all unprimed variables (shared by all monitors)
+   * @param nonAuxVars
+   *          variables to show in the message
+   * @param safetyConstraints
+   * @param initialConstraints
+   * @return specs of the monitor if it is incomplete
+   */
+  private List<BehaviorInfo> performMonitorCompletenessCheck(String monitorName,
+      Set<VariableReference> pastVarlist, SymbolicController ctrl, BDD doms, BDD domsIni, BDDVarSet nonAuxVars,
       Map<String, Set<BehaviorInfo>> safetyConstraints,
       Map<String, Set<BehaviorInfo>> initialConstraints) {
 
     // handling domain information
-    BDD doms = m.getSys().getDoms().and(m.getEnv().getDoms());
-    BDD domsIni = doms.exist(Env.globalPrimeVars());
     ctrl.initial().andWith(domsIni.id());
     ctrl.conjunctTrans(doms);
 
@@ -595,55 +660,45 @@ private List<BehaviorInfo> performMonitorCompletenessCheck(GameModel m, String m
     }
     BDDVarSet unprimedMonSet = monVar.getDomain().set().unionWith(monAuxSet);
     BDDVarSet primedMonSet = monVar.getOtherDomain().set().unionWith(primeMonAuxSet);
-    BDDVarSet unprimedGloalMinusMonSet = Env.globalUnprimeVars().minus(unprimedMonSet);
-    BDDVarSet primedGloalMinusMonSet = Env.globalPrimeVars().minus(primedMonSet);
 
+    // initial assignments without a corresponding initial state (none iff complete)
     BDD ctrlIni = ctrl.initial().exist(unprimedMonSet);
-    BDD result = domsIni.imp(ctrlIni).forAll(unprimedGloalMinusMonSet);
+    BDD missingIni = domsIni.id().andWith(ctrlIni.not());
+    ctrlIni.free();
+    unprimedMonSet.free();
 
-    if (!result.isOne()) {
-      result.free();
-      unprimedGloalMinusMonSet.free();
-      primedGloalMinusMonSet.free();
-      primedMonSet.free();
-      unprimedMonSet.free();
+    if (!missingIni.isZero()) {
       String[] errorMsg = new String[2];
       errorMsg[0] = monitorName;
-      BDDVarSet nonAuxVars = Env.union(m.getSys().getNonAuxFields()).union(Env.union(m.getEnv().getNonAuxFields()));
-      errorMsg[1] = CoreUtil.satOne(domsIni.and(ctrlIni.not()), nonAuxVars).toStringWithDomains(Env.stringer);
-      ctrlIni.free();
+      errorMsg[1] = CoreUtil.satOne(missingIni, nonAuxVars).toStringWithDomains(Env.stringer);
       this.setMonitorCheckMessages(errorMsg);
-      nonAuxVars.free();
+      missingIni.free();
+      primedMonSet.free();
       return getMonitorSpecList(monitorName, null, initialConstraints);
     }
-    result.free();
+    missingIni.free();
 
     // 2) check that for all reachable states in the monitor controller it is enabled
     // for all next assignments to all to all primed variables minus 
     // the monitor's (aux) variable 
     BDD reachable = Env.allSucc(ctrl.initial().id(), ctrl.trans());
 
+    // reachable transitions without a successor of the monitor (none iff complete)
     BDD ctrlTrans = ctrl.trans().exist(primedMonSet);
-    result = reachable.and(doms).imp(ctrlTrans).forAll(Env.globalUnprimeVars().union(Env.globalPrimeVars()));
-    if (!result.isOne()) {
+    primedMonSet.free();
+    BDD missingSucc = reachable.andWith(doms.id()).andWith(ctrlTrans.not());
+    ctrlTrans.free();
+
+    boolean complete = missingSucc.isZero();
+    if (!complete) {
       String[] errorMsg = new String[2];
-      BDDVarSet nonAuxVars = Env.union(m.getSys().getNonAuxFields()).union(Env.union(m.getEnv().getNonAuxFields()));
       errorMsg[0] = monitorName;
-      errorMsg[1] = CoreUtil.satOne(reachable.and(doms).and(ctrlTrans.not()), nonAuxVars)
-          .toStringWithDomains(Env.stringer);
+      errorMsg[1] = CoreUtil.satOne(missingSucc, nonAuxVars).toStringWithDomains(Env.stringer);
       this.setMonitorCheckMessages(errorMsg);
-      ctrlTrans.free();
-      nonAuxVars.free();
     }
+    missingSucc.free();
 
-    Map<String, Set<BehaviorInfo>> safetiesToMark = (result.isOne() ? null : safetyConstraints);
-    result.free();
-    reachable.free();
-    unprimedGloalMinusMonSet.free();
-    primedGloalMinusMonSet.free();
-    primedMonSet.free();
-    unprimedMonSet.free();
-
+    Map<String, Set<BehaviorInfo>> safetiesToMark = (complete ? null : safetyConstraints);
     return getMonitorSpecList(monitorName, safetiesToMark, null);
   }
 
@@ -662,50 +717,57 @@ public String[] getMonitorCheckMessages() {
   public List<BehaviorInfo> checkCountersConsistency(GameModel gm, CounterTranslator counterTranslator) {
     Map<Integer, Set<BehaviorInfo>> traceIdtoBI = computeTraceIdtoBIMap(gm);
 
-    for (String counterName : counterTranslator.getCountersNames()) {
-      List<SpecTraceable> inconstentPredicates = getInconstentCounterPredicates(gm, counterName, counterTranslator);
-      if (inconstentPredicates.size() > 0) {
-        List<BehaviorInfo> result = new ArrayList<BehaviorInfo>();
-        for (SpecTraceable pred : inconstentPredicates) {
-          Set<BehaviorInfo> behaviorInfos = traceIdtoBI.get(pred.getTraceId());
-          result.addAll(behaviorInfos);
+    if (counterTranslator.getCountersNames().isEmpty()) {
+      return new ArrayList<BehaviorInfo>();
+    }
+
+    // the reachable states are the same for all counters
+    BDD reachableStates = reachable(gm);
+
+    try {
+      for (String counterName : counterTranslator.getCountersNames()) {
+        List<SpecTraceable> inconstentPredicates = getInconstentCounterPredicates(gm, counterName, counterTranslator,
+            reachableStates);
+        if (inconstentPredicates.size() > 0) {
+          List<BehaviorInfo> result = new ArrayList<BehaviorInfo>();
+          for (SpecTraceable pred : inconstentPredicates) {
+            Set<BehaviorInfo> behaviorInfos = traceIdtoBI.get(pred.getTraceId());
+            result.addAll(behaviorInfos);
+          }
+          return result;
         }
-        return result;
-      }
 
+      }
+    } finally {
+      reachableStates.free();
     }
 
     return new ArrayList<BehaviorInfo>();
   }
 
   private List<SpecTraceable> getInconstentCounterPredicates(GameModel gm, String counterName,
-      CounterTranslator counterTranslator) {
+      CounterTranslator counterTranslator, BDD reachableStates) {
     List<SpecTraceable> predicates = counterTranslator.getCounterPredicates(counterName);
 
     PlayerModule env = gm.getEnv();
     PlayerModule sys = gm.getSys();
-    BDD reachableStates = Env.allSucc(env.initial().and(sys.initial()), env.trans().and(sys.trans()));
 
-    List<BDD> predicatesBdds = new ArrayList<BDD>();
+    // reachable states where each predicate holds (one relational product per predicate)
+    List<BDD> reachableAndPredicates = new ArrayList<BDD>();
     for (SpecTraceable pred : predicates) {
       BDD bdd = BDDGenerator.createBdd(pred.getContent(), pred.getTraceId());
-      predicatesBdds.add(bdd);
+      reachableAndPredicates.add(bdd.relprod(reachableStates, Env.globalPrimeVars()));
+      bdd.free();
     }
 
     try {
       for (int i = 0; i < predicates.size(); i++) {
+        BDD reachableAndP1 = reachableAndPredicates.get(i);
+        if (reachableAndP1.isZero()) {
+          continue;
+        }
         for (int j = i + 1; j < predicates.size(); j++) {
-          SpecTraceable p1 = predicates.get(i);
-          SpecTraceable p2 = predicates.get(j);
-
-          BDD p1ReachableStates = predicatesBdds.get(i);
-          BDD p2ReachableStates = predicatesBdds.get(j);
-
-          BDD reachableAndP1 = p1ReachableStates.and(reachableStates).exist(Env.globalPrimeVars());
-          BDD reachableAndP2 = p2ReachableStates.and(reachableStates).exist(Env.globalPrimeVars());
-          BDD intersection = reachableAndP1.and(reachableAndP2);
-          reachableAndP1.free();
-          reachableAndP2.free();
+          BDD intersection = reachableAndP1.and(reachableAndPredicates.get(j));
 
           if (!intersection.isZero()) {
             BDDVarSet nonAuxVars = Env.union(sys.getNonAuxFields()).union(Env.union(env.getNonAuxFields()));
@@ -714,10 +776,12 @@ private List<SpecTraceable> getInconstentCounterPredicates(GameModel gm, String
             errorMsg[0] = counterName;
             errorMsg[1] = CoreUtil.satOne(intersection, nonAuxVars).toStringWithDomains(Env.stringer);
             this.setCounterCheckMessages(errorMsg);
+            intersection.free();
+            nonAuxVars.free();
 
             List<SpecTraceable> intersectingPredicates = new ArrayList<SpecTraceable>();
-            intersectingPredicates.add(p1);
-            intersectingPredicates.add(p2);
+            intersectingPredicates.add(predicates.get(i));
+            intersectingPredicates.add(predicates.get(j));
             return intersectingPredicates;
           }
           intersection.free();
@@ -726,10 +790,9 @@ private List<SpecTraceable> getInconstentCounterPredicates(GameModel gm, String
 
       return new ArrayList<SpecTraceable>();
     } finally {
-      for (BDD bdd : predicatesBdds) {
+      for (BDD bdd : reachableAndPredicates) {
         bdd.free();
       }
-      reachableStates.free();
     }
   }
 
@@ -28,11 +28,9 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 package tau.smlab.syntech.checks;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import net.sf.javabdd.BDD;
 import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.games.gr1.GR1GameContext;
 import tau.smlab.syntech.jtlv.Env;
 import tau.smlab.syntech.jtlv.lib.FixPoint;
 
@@ -51,63 +49,23 @@ public class CouldAsmHelp {
    * allow "good" executions: where the environment can satisfy all assumptions and where the system can satisfy all
    * guarantees
    * 
-   * This gives no guarantee that a corresponding strategy exists.
+   * This gives no guarantee that a corresponding strategy exists. Use a
+   * {@link GR1GameContext} to ask for other initial states or additional
+   * assumptions on the same model.
    * 
    * @param m
    *          the game model with both players
    * @return true if there is a common way to satisfy asms and gars
    */
   public static boolean couldAsmHelp(GameModel m) {
+    GR1GameContext ctx = new GR1GameContext(m);
     BDD ini = m.getSys().initial().and(m.getEnv().initial());
-    BDD trans = m.getSys().trans().and(m.getEnv().trans());
-    List<BDD> buchis = new ArrayList<BDD>();
-    for (int i = 0; i < m.getSys().justiceNum(); i++) {
-      buchis.add(m.getSys().justiceAt(i));
-    }
-    for (int i = 0; i < m.getEnv().justiceNum(); i++) {
-      buchis.add(m.getEnv().justiceAt(i));
-    }
-    if (buchis.isEmpty()) {
-      buchis.add(Env.TRUE());
-    }
-    boolean commonSat = commonGeneralizedBuchiRealizable(ini, trans, buchis);
+    boolean commonSat = ctx.couldAsmHelp(ini);
     ini.free();
-    trans.free();
+    ctx.free();
     return commonSat;
   }
 
-  /**
-   * compute a cooperative solution to the generalized Buchi game
-   * 
-   * @param ini
-   * @param trans
-   * @param buchis
-   * @return
-   */
-  private static boolean commonGeneralizedBuchiRealizable(BDD ini, BDD trans, List<BDD> buchis) {
-    BDD Z = Env.TRUE();
-
-    FixPoint zFix = new FixPoint(true);
-    while (zFix.advance(Z)) {
-      Z = Z.id();
-      for (BDD buchi : buchis) {
-        BDD start = buchi.id().andWith(Env.pred(trans, Z));
-        BDD nextZ = Z.id().andWith(reachBwd(trans, start));
-        Z.free();
-        Z = nextZ;
-        start.free();
-
-        BDD iniWin = ini.and(Z);
-        if (iniWin.isZero()) {
-          iniWin.free();
-          return false;
-        }
-        iniWin.free();
-      }
-    }
-    return true;
-  }
-
   /**
    * compute all backwards reachable states
    * 
@@ -32,28 +32,64 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 import tau.smlab.syntech.gamemodel.BehaviorInfo;
 import tau.smlab.syntech.gamemodel.GameModel;
 import tau.smlab.syntech.gamemodel.util.GameBuilderUtil;
+import tau.smlab.syntech.games.gr1.GR1Game;
+import tau.smlab.syntech.games.gr1.GR1GameWarmStart;
 import tau.smlab.syntech.games.util.AbstractDdmin;
 
-public abstract class DdminRealizableCore extends AbstractDdmin<BehaviorInfo> {
+public class DdminRealizableCore extends AbstractDdmin<BehaviorInfo> {
   protected GameModel model;
+  private GR1GameWarmStart warmStart = new GR1GameWarmStart();
 
   public DdminRealizableCore(GameModel model) {
     this.model = model;
   }
 
 	/**
-	 * This has to be filled by the caller in order to make realizability checks standard and menu opt. sensitive.
-	 * See CoreMenu class
+	 * This can be overridden by the caller in order to make realizability checks standard and menu opt. sensitive.
+	 * See CoreMenu class. By default it is {@link #realizableWarmStart(GameModel)}.
 	 * 
 	 * @param gm
 	 * @return
 	 */
-	public abstract boolean realizable(GameModel gm);
-	
+	public boolean realizable(GameModel gm) {
+		return realizableWarmStart(gm);
+	}
+
+  /**
+   * GR(1) realizability check that is the default of {@link #realizable(GameModel)}. Removing assumptions only
+   * weakens the environment, so the check starts from the winning region of the last realizable part. Only ddmin
+   * continues with subsets of the last realizable part, the other strategies always start from TRUE.
+   * 
+   * @param gm
+   * @return
+   */
+  protected boolean realizableWarmStart(GameModel gm) {
+    if (getStrategy() != Strategy.DDMIN) {
+      GR1Game gr1 = new GR1Game(gm);
+      boolean realizable = gr1.checkRealizability();
+      gr1.free();
+      return realizable;
+    }
+    return warmStart.checkRealizability(gm);
+  }
+
   @Override
   protected boolean check(List<BehaviorInfo> part) {
     GameBuilderUtil.buildEnv(model, part);
-    return realizable(model);
+    boolean realizable = realizable(model);
+    if (realizable) {
+      warmStart.accept();
+    } else {
+      warmStart.discard();
+    }
+    return realizable;
+  }
+
+  @Override
+  public List<BehaviorInfo> minimize(List<BehaviorInfo> elements, List<List<BehaviorInfo>> negSets) {
+    List<BehaviorInfo> res = super.minimize(elements, negSets);
+    warmStart.free();
+    return res;
   }
 
 }
\ No newline at end of file
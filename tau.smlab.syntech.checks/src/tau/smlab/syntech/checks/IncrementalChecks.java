@@ -0,0 +1,291 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.checks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.javabdd.BDD;
+import net.sf.javabdd.BDDFactory;
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
+import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.jtlv.Env;
+
+/**
+ * Keeps the results of the checks of the last analyzed model to update them
+ * after a spec edit. There is one instance for all checks runs (see
+ * {@link Checker}), it is dropped when Env was reset.
+ * 
+ * The constraints are identified by their traceId and the hash of their BDD.
+ * <ul>
+ * <li>Reachable states (of the most permissive environment and system): if
+ * constraints were only added, the new reachable states are searched inside
+ * the old ones. If constraints were only removed, the search starts from the
+ * old reachable states. Both cases are verified on the initial states and
+ * transition relations, otherwise all reachable states are computed
+ * again.</li>
+ * <li>Unreachable justice: the result of a justice is kept as long as the
+ * reachable non-deadlock states do not change.</li>
+ * <li>Trivial constraints: the result of a constraint is kept as long as the
+ * constraint does not change.</li>
+ * </ul>
+ *
+ */
+public class IncrementalChecks {
+
+  private BDDFactory factory;
+  private Set<String> constraintKeys = new HashSet<>();
+  private BDD ini;
+  private BDD trans;
+  private BDD reach;
+  private BDD live;
+  private Map<String, Boolean> justiceReached = new HashMap<>();
+  // referenced to keep their BDD nodes (and thus the keys) from being reused
+  private Map<String, BDD> justices = new HashMap<>();
+  private Map<String, Boolean> trivial = new HashMap<>();
+
+  /**
+   * compute the reachable states of the model and keep them for the next model
+   * 
+   * @param model
+   * @return reachable states (a fresh BDD)
+   */
+  public synchronized BDD reachable(GameModel model) {
+    checkFactory();
+    PlayerModule env = model.getEnv();
+    PlayerModule sys = model.getSys();
+    BDD newIni = env.initial().and(sys.initial());
+    BDD newTrans = env.trans().and(sys.trans());
+    Set<String> newKeys = constraintKeys(model);
+
+    BDD newReach;
+    if (reach == null) {
+      newReach = Env.allSucc(newIni.id(), newTrans);
+    } else if (newIni.equals(ini) && newTrans.equals(trans)) {
+      newReach = reach.id();
+    } else if (constraintKeys.containsAll(newKeys) && subset(newIni, ini) && subset(newTrans, trans)) {
+      // all new reachable states were reachable before
+      BDD restricted = newTrans.and(reach);
+      newReach = Env.allSucc(newIni.id(), restricted);
+      restricted.free();
+    } else if (newKeys.containsAll(constraintKeys) && subset(ini, newIni) && subset(trans, newTrans)) {
+      // all old reachable states are still reachable
+      newReach = Env.allSucc(reach.or(newIni), newTrans);
+    } else {
+      newReach = Env.allSucc(newIni.id(), newTrans);
+    }
+
+    freeReachable();
+    constraintKeys = newKeys;
+    ini = newIni;
+    trans = newTrans;
+    reach = newReach;
+    return reach.id();
+  }
+
+  /**
+   * compute the justice constraints that cannot be reached in a state that is
+   * not an immediate deadlock for the system
+   * 
+   * @param model
+   * @return
+   */
+  public synchronized List<BehaviorInfo> unreachableJustice(GameModel model) {
+    BDD newLive = reachable(model);
+    BDD dead = model.getEnv().controlStates(model.getSys(), Env.FALSE());
+    newLive.andWith(dead.not());
+    dead.free();
+
+    if (live == null || !live.equals(newLive)) {
+      justiceReached.clear();
+    }
+    if (live != null) {
+      live.free();
+    }
+    live = newLive;
+
+    Set<String> keys = new HashSet<>();
+    List<BehaviorInfo> unreachable = new ArrayList<>();
+    addUnreachableJustice(unreachable, keys, model.getSysBehaviorInfo());
+    addUnreachableJustice(unreachable, keys, model.getEnvBehaviorInfo());
+    justiceReached.keySet().retainAll(keys);
+    freeJustices(keys);
+    return unreachable;
+  }
+
+  private void addUnreachableJustice(List<BehaviorInfo> unreachable, Set<String> keys, List<BehaviorInfo> infos) {
+    for (BehaviorInfo bi : infos) {
+      if (bi.isJustice()) {
+        String key = key(bi, "justice", bi.justice);
+        keys.add(key);
+        Boolean reached = justiceReached.get(key);
+        if (reached == null) {
+          BDD tmp = bi.justice.and(live);
+          reached = !tmp.isZero();
+          tmp.free();
+          justiceReached.put(key, reached);
+          if (!justices.containsKey(key)) {
+            justices.put(key, bi.justice.id());
+          }
+        }
+        if (!reached) {
+          unreachable.add(bi);
+        }
+      }
+    }
+  }
+
+  /**
+   * compute the constraints that are trivially TRUE or FALSE
+   * 
+   * @param infos
+   * @return
+   */
+  public synchronized List<BehaviorInfo> trivialSpecs(List<BehaviorInfo> infos) {
+    checkFactory();
+    Set<String> keys = new HashSet<>();
+    List<BehaviorInfo> res = new ArrayList<>();
+    for (BehaviorInfo bi : infos) {
+      if (bi.isInitial() && isTrivial(keys, key(bi, "ini", bi.initial), bi.initial)) {
+        res.add(bi);
+      } else if (bi.isSafety() && isTrivial(keys, key(bi, "safety", bi.safety), bi.safety)) {
+        res.add(bi);
+      } else if (bi.isJustice() && isTrivial(keys, key(bi, "justice", bi.justice), bi.justice)) {
+        res.add(bi);
+      }
+    }
+    trivial.keySet().retainAll(keys);
+    return res;
+  }
+
+  private boolean isTrivial(Set<String> keys, String key, BDD b) {
+    keys.add(key);
+    return trivial.computeIfAbsent(key, k -> b.isZero() || b.isOne());
+  }
+
+  /**
+   * free the kept BDDs and results
+   */
+  public synchronized void free() {
+    checkFactory();
+    freeReachable();
+    if (live != null) {
+      live.free();
+    }
+    live = null;
+    justiceReached.clear();
+    freeJustices(new HashSet<>());
+    trivial.clear();
+  }
+
+  private void freeJustices(Set<String> keep) {
+    justices.entrySet().removeIf(e -> {
+      if (keep.contains(e.getKey())) {
+        return false;
+      }
+      e.getValue().free();
+      return true;
+    });
+  }
+
+  private void freeReachable() {
+    if (reach != null) {
+      ini.free();
+      trans.free();
+      reach.free();
+    }
+    ini = null;
+    trans = null;
+    reach = null;
+    constraintKeys.clear();
+  }
+
+  /**
+   * drop everything (without freeing) if Env was reset since the last check
+   * because the kept BDDs belong to the old BDD manager
+   */
+  private void checkFactory() {
+    BDDFactory current = getFactory();
+    if (factory != current) {
+      ini = null;
+      trans = null;
+      reach = null;
+      live = null;
+      constraintKeys.clear();
+      justiceReached.clear();
+      justices.clear();
+      trivial.clear();
+      factory = current;
+    }
+  }
+
+  private static BDDFactory getFactory() {
+    BDD t = Env.TRUE();
+    BDDFactory f = t.getFactory();
+    t.free();
+    return f;
+  }
+
+  private static boolean subset(BDD a, BDD b) {
+    BDD notB = b.not();
+    BDD outside = a.and(notB);
+    notB.free();
+    boolean res = outside.isZero();
+    outside.free();
+    return res;
+  }
+
+  private static String key(BehaviorInfo bi, String kind, BDD b) {
+    return bi.traceId + ":" + kind + ":" + b.hashCode();
+  }
+
+  private static Set<String> constraintKeys(GameModel model) {
+    Set<String> keys = new HashSet<>();
+    addConstraintKeys(keys, model.getSysBehaviorInfo());
+    addConstraintKeys(keys, model.getEnvBehaviorInfo());
+    addConstraintKeys(keys, model.getAuxBehaviorInfo());
+    return keys;
+  }
+
+  private static void addConstraintKeys(Set<String> keys, List<BehaviorInfo> infos) {
+    for (BehaviorInfo bi : infos) {
+      if (bi.isInitial()) {
+        keys.add(key(bi, "ini", bi.initial));
+      }
+      if (bi.isSafety()) {
+        keys.add(key(bi, "safety", bi.safety));
+      }
+    }
+  }
+}
@@ -28,9 +28,20 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 package tau.smlab.syntech.gameinputtrans;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import tau.smlab.syntech.gameinput.model.Constraint;
 import tau.smlab.syntech.gameinput.model.GameInput;
+import tau.smlab.syntech.gameinput.model.Player;
+import tau.smlab.syntech.gameinput.spec.PredicateInstance;
+import tau.smlab.syntech.gameinput.spec.QuantifiedSpec;
+import tau.smlab.syntech.gameinput.spec.Spec;
+import tau.smlab.syntech.gameinput.spec.SpecExp;
 import tau.smlab.syntech.gameinputtrans.translator.DefaultTranslators;
 import tau.smlab.syntech.gameinputtrans.translator.Translator;
 
@@ -40,6 +51,18 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
  */
 public class TranslationProvider {
 
+	/**
+	 * measure the time and the allocations of every translator and the size of
+	 * the constraints after it (see {@link #getProfile()})
+	 */
+	static public boolean PROFILE = false;
+
+	/**
+	 * per translator: time in ms, bytes allocated, spec nodes before and after the
+	 * translation
+	 */
+	private static Map<String, long[]> profile = new LinkedHashMap<>();
+
 	/**
 	 * translate the game input according to default translators
 	 * 
@@ -61,8 +84,78 @@ public static void translate(GameInput input, List<Translator> translators) {
 		if (!isSomePlayerHasVariables(input)) {
 			throw new TranslationException("None of the players has variables", -1);
 		}
+		profile.clear();
+		long nodes = PROFILE ? countNodes(input) : 0;
 		for (Translator t : translators) {
+			long start = System.currentTimeMillis();
+			long allocStart = PROFILE ? allocatedBytes() : 0;
 			t.translate(input);
+			if (PROFILE) {
+				long time = System.currentTimeMillis() - start;
+				long alloc = allocStart < 0 ? -1 : allocatedBytes() - allocStart;
+				long nodesAfter = countNodes(input);
+				profile.put(t.getClass().getSimpleName(), new long[] { time, alloc, nodes, nodesAfter });
+				System.out.println("Translator " + t.getClass().getSimpleName() + ": " + time + "ms, allocated: "
+						+ (alloc < 0 ? "n/a" : alloc / 1024 + "KB") + ", spec nodes: " + nodes + " -> " + nodesAfter);
+				nodes = nodesAfter;
+			}
+		}
+	}
+
+	/**
+	 * @return for every translator of the last profiled translation the time in
+	 *         ms, the bytes allocated by the translating thread (negative if the
+	 *         JVM does not measure allocations) and the number of spec nodes of all
+	 *         constraints before and after it
+	 */
+	public static Map<String, long[]> getProfile() {
+		return profile;
+	}
+
+	/**
+	 * @return bytes allocated so far by the current thread or -1 if the JVM does
+	 *         not measure allocations
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+				return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param input
+	 * @return number of distinct spec nodes reachable from all constraints (the
+	 *         size of the result, not the number of nodes a translator allocated)
+	 */
+	private static long countNodes(GameInput input) {
+		Map<Spec, Boolean> visited = new IdentityHashMap<>();
+		for (Player p : new Player[] { input.getEnv(), input.getSys(), input.getAux() }) {
+			for (Constraint c : p.getConstraints()) {
+				countNodes(c.getSpec(), visited);
+			}
+		}
+		return visited.size();
+	}
+
+	private static void countNodes(Spec spec, Map<Spec, Boolean> visited) {
+		if (spec == null || visited.put(spec, Boolean.TRUE) != null) {
+			return;
+		}
+		if (spec instanceof SpecExp) {
+			for (Spec c : ((SpecExp) spec).getChildren()) {
+				countNodes(c, visited);
+			}
+		} else if (spec instanceof QuantifiedSpec) {
+			countNodes(((QuantifiedSpec) spec).getTempExpr(), visited);
+		} else if (spec instanceof PredicateInstance) {
+			for (Spec c : ((PredicateInstance) spec).getParameters()) {
+				countNodes(c, visited);
+			}
 		}
 	}
 
@@ -47,6 +47,7 @@ public static List<Translator> getDefaultTranslators() {
     ts.add(new VarIndexesTranslator()); //The translator of all the complex indexes in arrays
     ts.add(new PrimesTranslator());
     ts.add(new PrimesInJusticeTranslator());
+    ts.add(new HashConsTranslator()); //Shares equal sub-expressions, has to be the last translator
     return ts;
   }
 }
@@ -0,0 +1,195 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.gameinputtrans.translator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import tau.smlab.syntech.gameinput.model.Constraint;
+import tau.smlab.syntech.gameinput.model.ExistentialConstraint;
+import tau.smlab.syntech.gameinput.model.GameInput;
+import tau.smlab.syntech.gameinput.model.Player;
+import tau.smlab.syntech.gameinput.model.WeightDefinition;
+import tau.smlab.syntech.gameinput.spec.Operator;
+import tau.smlab.syntech.gameinput.spec.PrimitiveValue;
+import tau.smlab.syntech.gameinput.spec.Spec;
+import tau.smlab.syntech.gameinput.spec.SpecExp;
+import tau.smlab.syntech.gameinput.spec.VariableReference;
+
+/**
+ * Hash-conses the specifications of all constraints: structurally equal
+ * sub-expressions are replaced by a single shared instance. Translators like
+ * quantifiers, predicates and defines copy the same sub-expressions into many
+ * constraints, and after this translation these copies are the same object
+ * (e.g., the BDDGenerator translates every shared node only once).
+ * 
+ * Has to run after all translators that modify specifications in place.
+ *
+ */
+public class HashConsTranslator implements Translator {
+
+  private Map<ExpKey, SpecExp> exps = new HashMap<>();
+  private Map<String, VariableReference> refs = new HashMap<>();
+  private Map<String, PrimitiveValue> values = new HashMap<>();
+  private int nodes;
+  private int sharedNodes;
+
+  @Override
+  public void translate(GameInput input) {
+    hashCons(input.getEnv());
+    hashCons(input.getSys());
+    hashCons(input.getAux());
+    for (WeightDefinition wd : input.getWeightDefs()) {
+      hashCons(wd.getDefinition());
+    }
+  }
+
+  private void hashCons(Player p) {
+    for (Constraint c : p.getConstraints()) {
+      hashCons(c);
+    }
+    for (ExistentialConstraint c : p.getExistentialConstraints()) {
+      if (!c.isRegExp()) {
+        List<Spec> specs = c.getSpecs();
+        for (int i = 0; i < specs.size(); i++) {
+          c.replaceSpec(i, canonical(specs.get(i)));
+        }
+      }
+    }
+  }
+
+  private void hashCons(Constraint c) {
+    if (c != null && c.getSpec() != null) {
+      c.setSpec(canonical(c.getSpec()));
+    }
+  }
+
+  /**
+   * @param spec
+   * @return the shared instance that is structurally equal to spec
+   */
+  private Spec canonical(Spec spec) {
+    nodes++;
+    Spec res = spec;
+    if (spec instanceof SpecExp) {
+      SpecExp e = (SpecExp) spec;
+      Spec[] children = new Spec[e.getChildren().length];
+      boolean changed = false;
+      for (int i = 0; i < children.length; i++) {
+        children[i] = canonical(e.getChildren()[i]);
+        changed |= children[i] != e.getChildren()[i];
+      }
+      ExpKey key = new ExpKey(e.getOperator(), children);
+      res = exps.get(key);
+      if (res == null) {
+        if (changed) {
+          e = children.length == 1 ? new SpecExp(e.getOperator(), children[0])
+              : new SpecExp(e.getOperator(), children[0], children[1]);
+        }
+        exps.put(key, e);
+        res = e;
+      } else {
+        sharedNodes++;
+      }
+    } else if (spec instanceof VariableReference) {
+      VariableReference vr = (VariableReference) spec;
+      // references with variable indexes are compiled by their index expressions
+      if (vr.getIndexVars() == null || vr.getIndexVars().isEmpty()) {
+        VariableReference c = refs.get(vr.getReferenceName());
+        if (c == null) {
+          refs.put(vr.getReferenceName(), vr);
+        } else if (c.getVariable() == vr.getVariable()) {
+          res = c;
+          sharedNodes++;
+        }
+      }
+    } else if (spec instanceof PrimitiveValue) {
+      PrimitiveValue c = values.putIfAbsent(((PrimitiveValue) spec).getValue(), (PrimitiveValue) spec);
+      if (c != null) {
+        res = c;
+        sharedNodes++;
+      }
+    }
+    return res;
+  }
+
+  /**
+   * @return number of specification nodes visited
+   */
+  public int getNodes() {
+    return nodes;
+  }
+
+  /**
+   * @return number of visited nodes that were replaced by a shared instance
+   */
+  public int getSharedNodes() {
+    return sharedNodes;
+  }
+
+  /**
+   * key of an expression over canonical children (compared by identity)
+   */
+  private static class ExpKey {
+    private Operator op;
+    private Spec[] children;
+
+    ExpKey(Operator op, Spec[] children) {
+      this.op = op;
+      this.children = children;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ExpKey)) {
+        return false;
+      }
+      ExpKey other = (ExpKey) obj;
+      if (op != other.op || children.length != other.children.length) {
+        return false;
+      }
+      for (int i = 0; i < children.length; i++) {
+        if (children[i] != other.children[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int h = op.hashCode();
+      for (Spec c : children) {
+        h = 31 * h + System.identityHashCode(c);
+      }
+      return h;
+    }
+  }
+}
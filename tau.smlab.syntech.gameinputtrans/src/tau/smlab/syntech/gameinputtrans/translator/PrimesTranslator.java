@@ -93,7 +93,18 @@ private Spec primeVarAllReferences(Spec spec, int traceId) {
       if (refName.endsWith("'")) {
         throw new TranslationException("Cannot prime primed variable.", traceId);
       }
-      return new VariableReference(((VariableReference) spec).getVariable(), refName + "'");      
+      VariableReference vr = (VariableReference) spec;
+      if (vr.getIndexVars() != null && !vr.getIndexVars().isEmpty()) {
+        // a variable index (kept for the BDDGenerator) is primed together with the array
+        try {
+          VariableReference primed = vr.clone();
+          primed.setReferenceName(refName + "'");
+          return primed;
+        } catch (CloneNotSupportedException e) {
+          throw new TranslationException(e.getMessage(), traceId);
+        }
+      }
+      return new VariableReference(vr.getVariable(), refName + "'");
     } else if (spec instanceof SpecExp) {
       SpecExp e = (SpecExp) spec;
       for (int i = 0; i < e.getChildren().length; i++) {
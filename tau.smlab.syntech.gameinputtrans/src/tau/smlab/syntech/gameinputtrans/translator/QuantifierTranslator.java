@@ -169,7 +169,7 @@ private Spec translateSpec(Spec spec, Variable domainVar, PrimitiveValue primVal
 				}
 			}
 			
-			return varRef;
+			return varRef.clone();
 			
 		// if we arrived to PredicateInstance, we want to replace all the appearances of
 		// the current domain var in the parameters of the PredicateInstance
@@ -186,13 +186,16 @@ private Spec translateSpec(Spec spec, Variable domainVar, PrimitiveValue primVal
 
 			// if we got here, the current spec is a SpecExp we want to run on it's children array
 			// and replace all the appearances of the current domain var in it with primVal.
-			SpecExp specExp = ((SpecExp) spec).clone();
-			for (int i = 0; i < specExp.getChildren().length; i++) {
-				specExp.getChildren()[i] = translateSpec(specExp.getChildren()[i], domainVar, primVal, traceId);
+			// The translated children are already copies, so only this node is created.
+			SpecExp specExp = (SpecExp) spec;
+			Spec[] children = new Spec[specExp.getChildren().length];
+			for (int i = 0; i < children.length; i++) {
+				children[i] = translateSpec(specExp.getChildren()[i], domainVar, primVal, traceId);
 			}
-			return specExp;
+			return children.length == 1 ? new SpecExp(specExp.getOperator(), children[0])
+					: new SpecExp(specExp.getOperator(), children[0], children[1]);
 		}
 		
-		return spec;
+		return spec.clone();
 	}
 }
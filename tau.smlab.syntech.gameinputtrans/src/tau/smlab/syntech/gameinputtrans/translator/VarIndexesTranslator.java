@@ -50,10 +50,21 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 public class VarIndexesTranslator implements Translator {
 
+	/**
+	 * keep array references with variable indexes in guarantees, assumptions and
+	 * auxiliary constraints and let the BDDGenerator select the array element
+	 * symbolically instead of replacing the whole constraint by a disjunction over
+	 * all index values
+	 */
+	public static boolean SYMBOLIC_INDEXES = true;
+
 	@Override
 	public void translate(GameInput input) {
 		// guarantees
 		for (Constraint c : input.getSys().getConstraints()) {
+			if (keepSymbolic(c.getSpec())) {
+				continue;
+			}
 			// first, replace all the var indexes inside PastLTL expressions
 			c.setSpec(replaceVarIndexesInsidePastLTL(c.getSpec(), c.getTraceId()));
 
@@ -83,6 +94,9 @@ public void translate(GameInput input) {
 
 		// assumptions
 		for (Constraint c : input.getEnv().getConstraints()) {
+			if (keepSymbolic(c.getSpec())) {
+				continue;
+			}
 			c.setSpec(replaceVarIndexesInsidePastLTL(c.getSpec(), c.getTraceId()));
 			c.setSpec(replaceVarIndexes(replaceVarIndexes(c.getSpec(), true, c.getTraceId()), false, c.getTraceId()));
 
@@ -93,12 +107,67 @@ public void translate(GameInput input) {
 		
 		// auxiliary constraints
 		for (Constraint c : input.getAux().getConstraints()) {
+			if (keepSymbolic(c.getSpec())) {
+				continue;
+			}
 			c.setSpec(replaceVarIndexesInsidePastLTL(c.getSpec(), c.getTraceId()));
 			c.setSpec(replaceVarIndexes(replaceVarIndexes(c.getSpec(), true, c.getTraceId()), false, c.getTraceId()));
 		}
 
 	}
 	
+	/**
+	 * The BDDGenerator can select array elements by variable indexes as long as
+	 * the index expressions are not primed and there are no past LTL operators
+	 * left (the regular expressions of triggers and existential constraints are
+	 * always expanded).
+	 * 
+	 * @param spec
+	 * @return true if the var indexes of spec should be kept
+	 */
+	private boolean keepSymbolic(Spec spec) {
+		return SYMBOLIC_INDEXES && !hasPastLTLOrPrimedIndex(spec);
+	}
+
+	private boolean hasPastLTLOrPrimedIndex(Spec spec) {
+		if (spec instanceof VariableReference) {
+			VariableReference vr = (VariableReference) spec;
+			if (vr.getIndexVars() != null && !vr.getIndexVars().isEmpty()) {
+				for (Spec index : vr.getIndexSpecs()) {
+					if (hasPrime(index)) {
+						return true;
+					}
+				}
+			}
+		} else if (spec instanceof SpecExp) {
+			SpecExp se = (SpecExp) spec;
+			if (se.getOperator().isPastLTLOp()) {
+				return true;
+			}
+			for (Spec s : se.getChildren()) {
+				if (hasPastLTLOrPrimedIndex(s)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean hasPrime(Spec spec) {
+		if (spec instanceof SpecExp) {
+			SpecExp se = (SpecExp) spec;
+			if (Operator.PRIME.equals(se.getOperator())) {
+				return true;
+			}
+			for (Spec s : se.getChildren()) {
+				if (hasPrime(s)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	private void replaceVarIndexesInTriggers(List<TriggerConstraint> moduleTriggers) {
 		SpecRegExp initSpecRegExp, effectSpecRegExp;
 		for(TriggerConstraint trigger : moduleTriggers) {
@@ -211,20 +280,22 @@ private Spec translateSpec(Spec spec, Variable var,
 				}
 			}
 		} else if (spec instanceof SpecExp) {
-			SpecExp specExp = ((SpecExp) spec).clone();
+			SpecExp specExp = (SpecExp) spec;
 			Operator op = specExp.getOperator();
 
-			if (!op.isPastLTLOp()) {
-				for (int i = 0; i < specExp.getChildren().length; i++) {
-					specExp.getChildren()[i] = translateSpec(specExp.getChildren()[i], var, primVal, nextTranslation,
-							op.equals(Operator.PRIME) || insideOfNext, traceId);
-				}
+			if (op.isPastLTLOp()) {
+				return specExp.clone();
 			}
-			
-			return specExp;
+			// children below a PRIME are translated as inside of next
+			Spec[] children = new Spec[specExp.getChildren().length];
+			for (int i = 0; i < children.length; i++) {
+				children[i] = translateSpec(specExp.getChildren()[i], var, primVal, nextTranslation,
+						op.equals(Operator.PRIME) || insideOfNext, traceId);
+			}
+			return children.length == 1 ? new SpecExp(op, children[0]) : new SpecExp(op, children[0], children[1]);
 		}
 
-		return spec;
+		return spec.clone();
 	}
 
 	/**
@@ -0,0 +1,87 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.gamemodel;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.gamemodel.PlayerModule.TransFuncType;
+import tau.smlab.syntech.jtlv.Env;
+
+/**
+ * With {@link PlayerModule#LAZY_SINGLE_TRANS} a decomposed module conjoins
+ * added transitions to its single transition relation only when it is read.
+ */
+public class LazySingleTransTest {
+
+	private PlayerModule m;
+	private BDD x;
+	private BDD y;
+
+	/**
+	 * x toggles and y keeps its value
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Env.resetEnv();
+		m = new PlayerModule();
+		m.setName("m");
+		m.setTransFuncType(TransFuncType.DECOMPOSED_FUNC);
+		m.addVar("x", false, true);
+		m.addVar("y", false, true);
+		x = Env.getBDDValue("x", "true");
+		y = Env.getBDDValue("y", "true");
+		m.conjunctTrans(Env.getBDDValue("x'", "true").biimp(x.not()));
+		m.conjunctTrans(Env.getBDDValue("y'", "true").biimp(y));
+	}
+
+	@After
+	public void tearDown() {
+		m.free();
+		Env.resetEnv();
+	}
+
+	@Test
+	public void pred() {
+		BDD res = m.pred(x.and(y));
+		assertEquals(x.not().and(y), res);
+		res.free();
+	}
+
+	@Test
+	public void allPred() {
+		BDD res = m.allPred(x.and(y));
+		assertEquals(y, res);
+		res.free();
+	}
+}
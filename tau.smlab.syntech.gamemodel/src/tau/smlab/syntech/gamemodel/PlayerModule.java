@@ -59,6 +59,14 @@ public class PlayerModule {
 
 	public static boolean TEST_MODE = false;
 
+	/**
+	 * if the transition function is decomposed, then the transitions added by
+	 * {@link #conjunctTrans(BDD)} are only conjoined into the single transition
+	 * relation when {@link #trans()} is called (the game algorithms use the
+	 * partitioned transitions)
+	 */
+	public static boolean LAZY_SINGLE_TRANS = true;
+
 	public enum TransFuncType {
 		SINGLE_FUNC, DECOMPOSED_FUNC, PARTIAL_DECOMPOSED_FUNC
 	}
@@ -117,6 +125,7 @@ public int rank() {
 	private boolean simConjunctAbs;
 	private TransFuncType transFunc;
 	private BDD trans = Env.TRUE();
+	private List<BDD> pendingTrans = new ArrayList<>();
 	private List<TransQuantPair> transQuantList = new ArrayList<>();
 	private List<BDD> transList = new ArrayList<>();
 	private List<BDD> justice = new ArrayList<>();
@@ -213,9 +222,18 @@ public BDD initial() {
 	/**
 	 * returns original transition relation
 	 * 
+	 * (conjoins the pending transitions if the single transition relation is built
+	 * lazily)
+	 * 
 	 * @return
 	 */
 	public BDD trans() {
+		if (!pendingTrans.isEmpty()) {
+			for (BDD t : pendingTrans) {
+				trans.andWith(t);
+			}
+			pendingTrans.clear();
+		}
 		return trans;
 	}
 
@@ -399,7 +417,12 @@ public BDD[] getJustices() {
 	 * @param moreTrans
 	 */
 	public void conjunctTrans(BDD moreTrans) {
-		trans.andWith(moreTrans);
+		if (LAZY_SINGLE_TRANS && (transFunc == TransFuncType.DECOMPOSED_FUNC
+				|| transFunc == TransFuncType.PARTIAL_DECOMPOSED_FUNC)) {
+			pendingTrans.add(moreTrans);
+		} else {
+			trans.andWith(moreTrans);
+		}
 	}
 
 	/**
@@ -464,6 +487,8 @@ public void createTransFromPartTrans() {
 		if(trans != null && !trans.isFree()) {
 			trans.free();
 		}
+		Env.free(pendingTrans);
+		pendingTrans.clear();
 		trans = Env.TRUE();
 		for (TransQuantPair p : transQuantList) {
 			conjunctTrans(p.partTrans);
@@ -1749,7 +1774,7 @@ private ModuleBDDField addVar(String new_var, VarKind kind, int values_size,
 	 * @return The set of states which can lead in a single module step to the given states.
 	 */
 	public BDD pred(BDD to) {
-		return Env.pred(trans, to);
+		return Env.pred(trans(), to);
 	}
 	
 	/**
@@ -1815,7 +1840,7 @@ public BDD pred(PlayerModule responder, BDD to, SFAModuleConstraint exReqSfa) {
 	}
 	
 	private BDD predSingleTrans(PlayerModule responder, BDD to, SFAModuleConstraint exReqSfa) {
-		BDD modulesTrans = (exReqSfa != null) ? (trans.and(responder.trans())).andWith(exReqSfa.getTrans().id()) : trans.and(responder.trans());
+		BDD modulesTrans = (exReqSfa != null) ? (trans().and(responder.trans())).andWith(exReqSfa.getTrans().id()) : trans().and(responder.trans());
 		BDD primedTo = Env.prime(to);		
 		BDDVarSet modulesPrimeVars = this.modulePrimeVars().union(responder.modulePrimeVars());
 		BDD result;
@@ -1922,7 +1947,7 @@ private BDD predTransDecomposed(PlayerModule responder, BDD to, SFAModuleConstra
 	 * @return The set of states which can lead in any number of module step to the given states.
 	 */
 	public BDD allPred(BDD to) {
-		return Env.allPred(trans, to);
+		return Env.allPred(trans(), to);
 	}
 
 	/**
@@ -1935,7 +1960,7 @@ public BDD allPred(BDD to) {
 	 * @return The set of states which the module can reach in a single module step from the given states.
 	 */
 	public BDD succ(BDD from) {
-		return Env.succ(from, trans);
+		return Env.succ(from, trans());
 	}
 
 	/**
@@ -1948,7 +1973,7 @@ public BDD succ(BDD from) {
 	 * @return The set of states which the module can reach in any number of module steps from the given states.
 	 */
 	public BDD allSucc(BDD from) {
-		return Env.allSucc(from, trans);
+		return Env.allSucc(from, trans());
 	}
 
 	@Override
@@ -1974,7 +1999,7 @@ public String toString() {
 		buf.append(Env.toNiceString(initial));
 		buf.append("\n\n");
 		buf.append("Safety\n");
-		buf.append(Env.toNiceString(trans));
+		buf.append(Env.toNiceString(trans()));
 		buf.append("\n\n");
 		buf.append("Justice\n");
 		int i = 0;
@@ -2039,6 +2064,8 @@ public void resetInitial() {
 	public void resetTrans() {    
 		//an implementation which assumes that a single transition relation is always constructued
 		this.trans.free();
+		Env.free(this.pendingTrans);
+		this.pendingTrans.clear();
 		this.trans = this.doms.id();
 		if (transFunc == TransFuncType.DECOMPOSED_FUNC ||
 				transFunc == TransFuncType.PARTIAL_DECOMPOSED_FUNC) {
@@ -2065,6 +2092,8 @@ public void resetTrans() {
 	 */
 	public void resetSingleTrans() {
 		this.trans.free();
+		Env.free(this.pendingTrans);
+		this.pendingTrans.clear();
 		this.trans = this.doms.id();
 	}
 
@@ -2093,6 +2122,8 @@ public void reset() {
 	public void free() {
 		initial.free();
 		trans.free();
+		Env.free(pendingTrans);
+		pendingTrans.clear();
 		Env.free(justice);
 		if (cachedPrimeVars != null) {
 			cachedPrimeVars.free();
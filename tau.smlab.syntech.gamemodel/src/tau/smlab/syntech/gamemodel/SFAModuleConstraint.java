@@ -28,9 +28,12 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 package tau.smlab.syntech.gamemodel;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -55,10 +58,31 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
  */
 public class SFAModuleConstraint {
 
+	/**
+	 * How the states of the SFA are mapped to values of the states variable.
+	 * <ul>
+	 * <li>BFS: consecutive values in BFS order</li>
+	 * <li>GRAY: Gray codes in BFS order, so that states discovered one after the
+	 * other differ in a single bit</li>
+	 * <li>SIMILARITY: Gray codes in an order that puts states with similar
+	 * successors next to each other</li>
+	 * <li>SMALLEST: the one of the above with the smallest transition BDD</li>
+	 * </ul>
+	 */
+	public static enum StateEncoding {
+		BFS, GRAY, SIMILARITY, SMALLEST;
+	}
+
+	/**
+	 * encoding used by a {@link Builder} unless set explicitly
+	 */
+	public static StateEncoding DEFAULT_ENCODING = StateEncoding.BFS;
+
 	private final PlayerModule m;
 	private final String statesVarName;
 	private final boolean restrictIniTrans, groupVars;
 	private final int traceId;
+	private StateEncoding encoding;
 	
 	private ModuleBDDField statesVar;
 	private BDD ini, trans, acceptance, //The set of the final (accepting) states of this' SFA 
@@ -88,12 +112,14 @@ private SFAModuleConstraint(PlayerModule m, String statesVarName, boolean restri
 	 * Constructor only invoked by a {@link Builder}.
 	 * 
 	 */
-	private SFAModuleConstraint(PlayerModule m, SFA sfa, String statesVarName, boolean restrictIniTrans, boolean groupVars, int traceId) {
+	private SFAModuleConstraint(PlayerModule m, SFA sfa, String statesVarName, boolean restrictIniTrans, boolean groupVars, int traceId,
+			StateEncoding encoding) {
 		this.m = m;
 		this.statesVarName = statesVarName;
 		this.restrictIniTrans = restrictIniTrans;
 		this.groupVars = groupVars;
 		this.traceId = traceId;
+		this.encoding = encoding;
 		setIniTransAcceptance(sfa);
 	}
 	
@@ -135,6 +161,15 @@ public BDD getTrans() {
 		return this.trans;
 	}
 
+	/**
+	 * Returns the number of BDD nodes of the transitions of this' SFA, which depends on the chosen {@link StateEncoding}.
+	 * 
+	 * @return
+	 */
+	public int getTransNodeCount() {
+		return this.trans.nodeCount();
+	}
+
 	public BDD getIni() {
 		return this.ini;
 	}
@@ -181,12 +216,34 @@ public String toString() {
 	}
 
 	private void setIniTransAcceptance(SFA sfa) {
+		//Number the reachable states of this' SFA in BFS order
+		List<SFAState> states = new ArrayList<>();
+		Set<SFAState> seen = new HashSet<>();
+		Queue<SFAState> worklist = new LinkedList<>();
+		worklist.add(sfa.getIni());
+		seen.add(sfa.getIni());
+		while (!worklist.isEmpty()) {
+			SFAState currState = worklist.remove();
+			states.add(currState);
+			for (SFAState succState : currState.getSucc().keySet()) {
+				if (seen.add(succState)) {
+					worklist.add(succState);
+				}
+			}
+		}
+
+		//Gray codes may use all values of the bits that encode the states
+		int maxValue = states.size() - 1;
+		if (this.encoding != StateEncoding.BFS && states.size() > 1) {
+			maxValue = (Integer.highestOneBit(states.size() - 1) << 1) - 1;
+		}
+
 		try {
 			if(this.groupVars) {
 				Env.disableReorder();
 			}
 			//Try to add a fresh aux integer variable that encodes the states of this' SFA 
-			this.statesVar = this.m.addVar(this.statesVarName, 0, sfa.numStates()-1, true, this.restrictIniTrans);
+			this.statesVar = this.m.addVar(this.statesVarName, 0, maxValue, true, this.restrictIniTrans);
 			this.statesVar.setTraceId(this.traceId);
 
 			if(this.groupVars) {
@@ -199,43 +256,135 @@ private void setIniTransAcceptance(SFA sfa) {
 		catch (Exception e) {
 			throw new RuntimeException("Could not add aux variable " + this.statesVarName + " : " + e.getMessage());
 		}
-		
-		//Initial: ('new aux states variable = 0')
-		Map<SFAState, Integer> statesToIdMapping = new HashMap<>();
+
+		Map<SFAState, Integer> statesToIdMapping;
+		if (this.encoding == StateEncoding.SMALLEST) {
+			//Keep the encoding with the smallest transition BDD
+			statesToIdMapping = null;
+			for (StateEncoding e : Arrays.asList(StateEncoding.BFS, StateEncoding.GRAY, StateEncoding.SIMILARITY)) {
+				Map<SFAState, Integer> mapping = encode(states, e);
+				BDD eTrans = buildTrans(states, mapping);
+				if (this.trans == null || eTrans.nodeCount() < this.trans.nodeCount()) {
+					if (this.trans != null) {
+						this.trans.free();
+					}
+					this.trans = eTrans;
+					statesToIdMapping = mapping;
+				} else {
+					eTrans.free();
+				}
+			}
+		} else {
+			statesToIdMapping = encode(states, this.encoding);
+			this.trans = buildTrans(states, statesToIdMapping);
+		}
+
+		//Initial: ('new aux states variable = id of the initial state')
+		this.ini = Env.getBDDValue(this.statesVarName, statesToIdMapping.get(sfa.getIni())).id();
+
 		Set<Integer> finalStatesIds = new HashSet<>();
-		statesToIdMapping.put(sfa.getIni(), 0);
-		this.ini = Env.getBDDValue(this.statesVarName, 0).id();
-		if(sfa.getIni().isAccepting()) {
-			finalStatesIds.add(0);
+		for (SFAState state : states) {
+			if (state.isAccepting()) {
+				finalStatesIds.add(statesToIdMapping.get(state));
+			}
 		}
+		this.setAcceptance(finalStatesIds);
+	}
 
-		//Perform a BFS search on this' SFA and encode all of its transitions
-		int nextId = 1;
-		Queue<SFAState> worklist = new LinkedList<>();
-		worklist.add(sfa.getIni());
-		BDD trans = Env.FALSE(), currTransBdd, currStateBdd;
-		SFAState currState;
-		while (!worklist.isEmpty()) {
-			currState = worklist.remove();
-			currStateBdd = Env.getBDDValue(this.statesVarName, statesToIdMapping.get(currState));
-			for (SFAState succState : currState.getSucc().keySet()) {
-				if (!statesToIdMapping.containsKey(succState)) {
-					statesToIdMapping.put(succState, nextId);
-					if(succState.isAccepting()) {
-						finalStatesIds.add(nextId);
+	/**
+	 * Assigns a value of the states variable to each state.
+	 * 
+	 * @param states the states in BFS order (starting with the initial state)
+	 * @param encoding {@link StateEncoding#BFS}, {@link StateEncoding#GRAY} or {@link StateEncoding#SIMILARITY}
+	 * @return
+	 */
+	private static Map<SFAState, Integer> encode(List<SFAState> states, StateEncoding encoding) {
+		List<SFAState> order = states;
+		if (encoding == StateEncoding.SIMILARITY) {
+			//Greedily append the remaining state whose successors overlap most with those of the last state
+			order = new ArrayList<>();
+			List<SFAState> remaining = new LinkedList<>(states);
+			SFAState last = remaining.remove(0);
+			order.add(last);
+			while (!remaining.isEmpty()) {
+				SFAState best = null;
+				double bestSimilarity = -1;
+				for (SFAState candidate : remaining) {
+					double similarity = similarity(last.getSucc().keySet(), candidate.getSucc().keySet());
+					if (similarity > bestSimilarity) {
+						best = candidate;
+						bestSimilarity = similarity;
 					}
-					++nextId;
-					worklist.add(succState);
 				}
-				currTransBdd = (currStateBdd.and(currState.getSucc().get(succState))).
-						andWith(Env.getBDDValue(this.statesVarName+"'", statesToIdMapping.get(succState)).id());
-				trans.orWith(currTransBdd);
+				remaining.remove(best);
+				order.add(best);
+				last = best;
 			}
 		}
-		this.trans = trans;
-		this.setAcceptance(finalStatesIds);
+
+		Map<SFAState, Integer> statesToIdMapping = new HashMap<>();
+		for (int i = 0; i < order.size(); i++) {
+			//Neighbors in the order differ in a single bit
+			statesToIdMapping.put(order.get(i), encoding == StateEncoding.BFS ? i : i ^ (i >> 1));
+		}
+		return statesToIdMapping;
 	}
-	
+
+	/**
+	 * Jaccard similarity of two sets of successors.
+	 */
+	private static double similarity(Set<? extends SFAState> a, Set<? extends SFAState> b) {
+		if (a.isEmpty() && b.isEmpty()) {
+			return 1;
+		}
+		int common = 0;
+		for (SFAState s : a) {
+			if (b.contains(s)) {
+				common++;
+			}
+		}
+		return (double) common / (a.size() + b.size() - common);
+	}
+
+	/**
+	 * Builds the transitions of this' SFA over the states variable. The
+	 * disjunctions over the successors of a state and over all states are computed
+	 * as balanced trees, which keeps the intermediate BDDs small.
+	 */
+	private BDD buildTrans(List<SFAState> states, Map<SFAState, Integer> statesToIdMapping) {
+		List<BDD> statesTrans = new ArrayList<>();
+		for (SFAState currState : states) {
+			List<BDD> succTrans = new ArrayList<>();
+			for (Map.Entry<? extends SFAState, BDD> succ : currState.getSucc().entrySet()) {
+				succTrans.add(succ.getValue().and(
+						Env.getBDDValue(this.statesVarName + "'", statesToIdMapping.get(succ.getKey()))));
+			}
+			BDD currStateBdd = Env.getBDDValue(this.statesVarName, statesToIdMapping.get(currState));
+			statesTrans.add(balancedOr(succTrans).andWith(currStateBdd.id()));
+		}
+		return balancedOr(statesTrans);
+	}
+
+	/**
+	 * Disjunction of the given BDDs (which are consumed) by divide and conquer.
+	 */
+	private static BDD balancedOr(List<BDD> bdds) {
+		if (bdds.isEmpty()) {
+			return Env.FALSE();
+		}
+		while (bdds.size() > 1) {
+			List<BDD> next = new ArrayList<>();
+			for (int i = 0; i + 1 < bdds.size(); i += 2) {
+				next.add(bdds.get(i).orWith(bdds.get(i + 1)));
+			}
+			if (bdds.size() % 2 == 1) {
+				next.add(bdds.get(bdds.size() - 1));
+			}
+			bdds = next;
+		}
+		return bdds.get(0);
+	}
+
 	private void setAcceptance(Set<Integer> finalStatesIds) {
 		BDD accepting = Env.FALSE();
 		for(int finalStateId : finalStatesIds) {
@@ -264,6 +413,7 @@ public static class Builder {
 		private String varNamePrefix;
 		private boolean restrictIniTrans, groupVars;
 		private int traceId;
+		private StateEncoding encoding;
 		
 		/**
 		 * Constructs a new {@link Builder} with a default variable name prefix.
@@ -272,6 +422,7 @@ public Builder() {
 			this.varNamePrefix = VAR_NAME_PREFIX;
 			this.restrictIniTrans = true;
 			this.groupVars = false;
+			this.encoding = DEFAULT_ENCODING;
 		}
 		
 		/**
@@ -334,6 +485,18 @@ public Builder playerModule(PlayerModule m) {
 			return this;
 		}
 		
+		/**
+		 * Sets how the states of the SFA are encoded by the values of the new variable. By default, set to
+		 * {@link SFAModuleConstraint#DEFAULT_ENCODING}.
+		 * 
+		 * @param encoding
+		 * @return
+		 */
+		public Builder encoding(StateEncoding encoding) {
+			this.encoding = encoding;
+			return this;
+		}
+		
 		public Builder traceId(int traceId) {
 			this.traceId = traceId;
 			return this;
@@ -347,7 +510,7 @@ public Builder traceId(int traceId) {
 		 */
 		public SFAModuleConstraint build() {
 			SFAModuleConstraint sfaConstraint = new SFAModuleConstraint(this.m, this.sfa, this.varNamePrefix + VAR_NAME_IDX,
-					this.restrictIniTrans, this.groupVars, traceId);
+					this.restrictIniTrans, this.groupVars, traceId, this.encoding);
 			++VAR_NAME_IDX;
 			return sfaConstraint;
 		}
@@ -0,0 +1,189 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.gr1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
+import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.gamemodel.PlayerModule.TransFuncType;
+import tau.smlab.syntech.gamemodel.util.GameBuilderUtil;
+import tau.smlab.syntech.games.gr1.unreal.MinimizeInitialStates;
+import tau.smlab.syntech.jtlv.Env;
+import tau.smlab.syntech.jtlv.lib.FixPoint;
+
+public class GR1GameContextTest {
+
+	private GameModel model;
+	private GR1GameContext ctx;
+	private BehaviorInfo iniS;
+	private BehaviorInfo iniT;
+
+	/**
+	 * The system copies the input e to s and must not see e' after s. The
+	 * environment never sets e twice in a row, so it wins from states with s and
+	 * not e. Initially setting s is therefore enough to lose, setting t is not.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Env.resetEnv();
+		model = new GameModel();
+		PlayerModule env = new PlayerModule();
+		env.setName("env");
+		env.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		PlayerModule sys = new PlayerModule();
+		sys.setName("sys");
+		sys.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		model.setEnv(env);
+		model.setSys(sys);
+		env.addVar("e", false, true);
+		sys.addVar("s", false, true);
+		sys.addVar("t", false, true);
+
+		iniS = new BehaviorInfo(val("s"), null, null, null, null, 1, false);
+		iniT = new BehaviorInfo(val("t"), null, null, null, null, 2, false);
+		List<BehaviorInfo> gars = new ArrayList<BehaviorInfo>();
+		gars.add(iniS);
+		gars.add(iniT);
+		gars.add(new BehaviorInfo(null, val("s'").biimp(val("e'")), null, null, null, 3, false));
+		gars.add(new BehaviorInfo(null, val("s").imp(val("e'").not()), null, null, null, 4, false));
+		gars.add(new BehaviorInfo(null, null, val("s"), null, null, 5, false));
+		GameBuilderUtil.buildSys(model, gars);
+
+		List<BehaviorInfo> asms = new ArrayList<BehaviorInfo>();
+		asms.add(new BehaviorInfo(null, val("e").imp(val("e'").not()), null, null, null, 10, false));
+		asms.add(new BehaviorInfo(null, null, val("e"), null, null, 11, false));
+		GameBuilderUtil.buildEnv(model, asms);
+
+		ctx = new GR1GameContext(model);
+	}
+
+	@After
+	public void tearDown() {
+		ctx.free();
+		model.free();
+		Env.resetEnv();
+	}
+
+	@Test
+	public void winningStatesMatchGame() {
+		GR1Game gr1 = new GR1Game(model);
+		gr1.checkRealizability();
+		assertEquals(gr1.sysWinningStates(), ctx.sysWinningStates());
+		BDD lost = val("s").andWith(val("e").not());
+		assertTrue(ctx.sysWinningStates().and(lost).isZero());
+		lost.free();
+		gr1.free();
+	}
+
+	@Test
+	public void yieldStatesAreCached() {
+		BDD to = val("s");
+		BDD expected = model.getEnv().yieldStates(model.getSys(), to);
+		BDD first = ctx.yieldStates(to);
+		BDD second = ctx.yieldStates(to);
+		assertEquals(expected, first);
+		assertEquals(expected, second);
+		first.free();
+		second.free();
+		expected.free();
+		to.free();
+	}
+
+	@Test
+	public void partitionedTransitionsMatchJointTransitions() {
+		BDD trans = model.getSys().trans().and(model.getEnv().trans());
+		BDD to = val("s").andWith(val("t"));
+
+		BDD expectedPred = Env.pred(trans, to);
+		BDD pred = ctx.pred(to);
+		assertEquals(expectedPred, pred);
+
+		BDD expectedReach = Env.FALSE();
+		FixPoint f = new FixPoint(true);
+		while (f.advance(expectedReach)) {
+			expectedReach = to.id().orWith(Env.pred(trans, expectedReach));
+		}
+		BDD reach = ctx.reachBwd(to);
+		assertEquals(expectedReach, reach);
+
+		Env.free(new BDD[] { trans, to, expectedPred, pred, expectedReach, reach });
+	}
+
+	@Test
+	public void initialGuaranteesOnWinningRegion() {
+		BDD t = val("t");
+		BDD s = val("s");
+		assertTrue(ctx.sysWinsAllIni(t));
+		assertFalse(ctx.sysWinsAllIni(s));
+		t.free();
+		s.free();
+
+		List<BehaviorInfo> iniGars = new ArrayList<BehaviorInfo>();
+		iniGars.add(iniT);
+		iniGars.add(iniS);
+		MinimizeInitialStates min = new MinimizeInitialStates(model, ctx.sysWinningStates());
+		List<BehaviorInfo> core = min.minimize(iniGars);
+		assertEquals(1, core.size());
+		assertEquals(iniS, core.get(0));
+	}
+
+	@Test
+	public void couldAsmHelpWithMoreAssumptions() {
+		BDD ini = model.getSys().initial().and(model.getEnv().initial());
+		assertTrue(ctx.couldAsmHelp(ini));
+
+		// the environment can no longer move once e holds
+		BDD alwaysE = val("e'");
+		assertFalse(ctx.couldAsmHelp(ini, alwaysE, new ArrayList<BDD>()));
+
+		List<BDD> moreBuchis = new ArrayList<BDD>();
+		moreBuchis.add(val("t"));
+		assertTrue(ctx.couldAsmHelp(ini, Env.TRUE(), moreBuchis));
+
+		Env.free(moreBuchis);
+		alwaysE.free();
+		ini.free();
+	}
+
+	private static BDD val(String var) {
+		return Env.getBDDValue(var, "true").id();
+	}
+}
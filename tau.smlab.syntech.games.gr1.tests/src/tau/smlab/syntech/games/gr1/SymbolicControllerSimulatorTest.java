@@ -0,0 +1,126 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.gr1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
+import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.gamemodel.PlayerModule.TransFuncType;
+import tau.smlab.syntech.gamemodel.util.GameBuilderUtil;
+import tau.smlab.syntech.games.controller.symbolic.SymbolicController;
+import tau.smlab.syntech.games.controller.symbolic.SymbolicControllerSimulator;
+import tau.smlab.syntech.games.controller.symbolic.SymbolicControllerSimulator.SimulationResult;
+import tau.smlab.syntech.jtlv.Env;
+
+public class SymbolicControllerSimulatorTest {
+
+	private static final int TRACES = 20;
+	private static final int STEPS = 50;
+
+	private GameModel model;
+	private SymbolicController ctrl;
+
+	/**
+	 * The system copies the input e to s. The environment never sets e twice in a
+	 * row and sets it infinitely often, so s holds infinitely often.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Env.resetEnv();
+		model = new GameModel();
+		PlayerModule env = new PlayerModule();
+		env.setName("env");
+		env.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		PlayerModule sys = new PlayerModule();
+		sys.setName("sys");
+		sys.setTransFuncType(TransFuncType.SINGLE_FUNC);
+		model.setEnv(env);
+		model.setSys(sys);
+		env.addVar("e", false, true);
+		sys.addVar("s", false, true);
+
+		List<BehaviorInfo> gars = new ArrayList<BehaviorInfo>();
+		gars.add(new BehaviorInfo(null, val("s'").biimp(val("e'")), null, null, null, 1, false));
+		gars.add(new BehaviorInfo(null, null, val("s"), null, null, 2, false));
+		GameBuilderUtil.buildSys(model, gars);
+
+		List<BehaviorInfo> asms = new ArrayList<BehaviorInfo>();
+		asms.add(new BehaviorInfo(null, val("e").imp(val("e'").not()), null, null, null, 10, false));
+		asms.add(new BehaviorInfo(null, null, val("e"), null, null, 11, false));
+		GameBuilderUtil.buildEnv(model, asms);
+
+		GR1Game gr1 = new GR1Game(model);
+		assertTrue(gr1.checkRealizability());
+		ctrl = new GR1SymbolicControllerConstruction(gr1.getMem(), model).calculateSymbolicController();
+		gr1.free();
+	}
+
+	@After
+	public void tearDown() {
+		model.free();
+		Env.resetEnv();
+	}
+
+	@Test
+	public void controllerPassesValidInputs() {
+		SimulationResult res = new SymbolicControllerSimulator(ctrl, model).simulate(TRACES, STEPS);
+
+		assertTrue(res.passed());
+		assertEquals(TRACES, res.getTraces());
+		assertEquals(TRACES * STEPS, res.getSteps());
+		assertEquals(0, res.getEnvDeadlocks());
+		assertEquals(0, res.getAssumptionViolations());
+	}
+
+	@Test
+	public void violatedAssumptionsEndTraces() {
+		SymbolicControllerSimulator simulator = new SymbolicControllerSimulator(ctrl, model);
+		simulator.setViolateAssumptions(true);
+		SimulationResult res = simulator.simulate(TRACES, STEPS);
+
+		assertTrue(res.passed());
+		assertTrue(res.getAssumptionViolations() > 0);
+		assertTrue(res.getSteps() < TRACES * STEPS);
+	}
+
+	private static BDD val(String var) {
+		return Env.getBDDValue(var, "true").id();
+	}
+}
@@ -35,10 +35,10 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 import net.sf.javabdd.BDDVarSet;
 import tau.smlab.syntech.gamemodel.GameModel;
 import tau.smlab.syntech.games.AbstractGamesException;
+import tau.smlab.syntech.games.controller.enumerate.CompactEnumStrategyImpl;
 import tau.smlab.syntech.games.controller.enumerate.ConcreteControllerConstruction;
 import tau.smlab.syntech.games.controller.enumerate.EnumStateI;
-import tau.smlab.syntech.games.controller.enumerate.EnumStrategyI;
-import tau.smlab.syntech.games.controller.enumerate.EnumStrategyImpl;
+import tau.smlab.syntech.games.controller.enumerate.printers.EnumStrategyStreamPrinter;
 import tau.smlab.syntech.jtlv.CoreUtil;
 import tau.smlab.syntech.jtlv.Env;
 
@@ -46,6 +46,8 @@ public class GR1ConceteControllerConstructionSkip extends ConcreteControllerCons
 
 	private GR1Memory mem;
 	private GR1StrategyType kind;
+	private EnumStrategyStreamPrinter streamPrinter;
+	private boolean storeTransitions = true;
 
 	public GR1ConceteControllerConstructionSkip(GR1Memory mem, GameModel m, GR1StrategyType kind) {
 		super(mem, m);
@@ -59,48 +61,76 @@ public GR1ConceteControllerConstructionSkip(GR1Memory mem, GameModel m) {
 		this.kind = GR1StrategyType.ZYX;
 	}
 
+	/**
+	 * stream states and transitions to the printer during the construction
+	 * 
+	 * @param printer
+	 * @param storeTransitions whether the returned strategy also keeps the
+	 *                         transitions
+	 */
+	public void setStreamPrinter(EnumStrategyStreamPrinter printer, boolean storeTransitions) {
+		this.streamPrinter = printer;
+		this.storeTransitions = storeTransitions;
+	}
+
 	@Override
-	public EnumStrategyI calculateConcreteController() throws AbstractGamesException {
+	public CompactEnumStrategyImpl calculateConcreteController() throws AbstractGamesException {
 		return this.calculateConcreteController(false);
 	}
 
-	public EnumStrategyI calculateConcreteController(boolean calcLongestSimplePath) throws AbstractGamesException {
+	/**
+	 * @param calcLongestSimplePath
+	 * @return the strategy (its BDDs have to be freed by the caller)
+	 * @throws AbstractGamesException
+	 */
+	public CompactEnumStrategyImpl calculateConcreteController(boolean calcLongestSimplePath)
+			throws AbstractGamesException {
 		if (!(kind instanceof GR1StrategyType))
 			return null;
 		int strategy_kind = ((GR1StrategyType) kind).old_value();
 		Stack<EnumStateI> st_stack = new Stack<EnumStateI>();
+		// assignments of the states on st_stack (the strategy keeps them packed)
+		Stack<BDD> bdd_stack = new Stack<BDD>();
 		Stack<Integer> j_stack = new Stack<Integer>();
 		Stack<Integer> cy_stack = new Stack<Integer>();
 
 		BDDVarSet envUnprimedVars = env.moduleUnprimeVars();
 		BDDVarSet sysUnprimedVars = sys.moduleUnprimeVars();
 
-		EnumStrategyImpl aut = new EnumStrategyImpl(calcLongestSimplePath);
+		CompactEnumStrategyImpl aut = new CompactEnumStrategyImpl(envUnprimedVars.union(sysUnprimedVars),
+				calcLongestSimplePath);
+		if (streamPrinter != null) {
+			aut.setStreamPrinter(streamPrinter, storeTransitions);
+			streamPrinter.begin();
+		}
 
 		System.out.println("calculateNewStrategyNewSkip start with node num = " + Env.TRUE().getFactory().getNodeNum());
 
 		// for all initial env states find one possible sys state and add these on
 		// the stack with rank 0
 
-		for (BDDIterator it = env.initial().iterator(envUnprimedVars); it.hasNext();) {
-			// TODO make this faster by keeping envIni symbolic: search "closest" envIni
-			// states, then iterate (this will save individual searches for "closest")
-			BDD envIni = it.nextBDD();
-			BDD iniWin = envIni.andWith(getWinningInitialStates());
-			int cy = 0;
-			BDD closest = Env.FALSE();
-			// get to the closest state to go to next justice
-			while (closest.isZero()) {
+		// keep envIni symbolic: go over the ranks of y_mem[0] once and enumerate
+		// the env initial states whose closest sys choice has the current rank
+		BDD iniWin = env.initial().and(getWinningInitialStates());
+		BDD envDone = Env.FALSE();
+		for (int r = 0; r < mem.y_mem[0].length; r++) {
+			BDD closestOfRank = iniWin.and(mem.y_mem[0][r]);
+			BDD envOfRank = closestOfRank.exist(sysUnprimedVars).andWith(envDone.not());
+			for (BDDIterator it = envOfRank.iterator(envUnprimedVars); it.hasNext();) {
+				BDD envIni = it.nextBDD();
+				BDD closest = envIni.andWith(closestOfRank.id());
+				BDD oneIni = CoreUtil.satOne(closest, envUnprimedVars.union(sysUnprimedVars));
 				closest.free();
-				closest = iniWin.and(mem.y_mem[0][cy++]);
+				st_stack.push(aut.getState(oneIni, new GR1RankInfo(0)));
+				bdd_stack.push(oneIni);
+				cy_stack.push(r + 1);
+				j_stack.push(new Integer(0));
 			}
-			iniWin.free();
-			BDD oneIni = CoreUtil.satOne(closest, envUnprimedVars.union(sysUnprimedVars));
-			closest.free();
-			st_stack.push(aut.getState(oneIni, new GR1RankInfo(0)));
-			cy_stack.push(cy);
-			j_stack.push(new Integer(0));
+			envDone.orWith(envOfRank);
+			closestOfRank.free();
 		}
+		envDone.free();
+		iniWin.free();
 
 		System.out.println("Initial states of environment: " + st_stack.size());
 
@@ -108,7 +138,7 @@ public EnumStrategyI calculateConcreteController(boolean calcLongestSimplePath)
 		while (!st_stack.isEmpty()) {
 			// making a new entry.
 			EnumStateI new_state = st_stack.pop();
-			BDD p_st = new_state.getData();
+			BDD p_st = bdd_stack.pop();
 			int p_j = j_stack.pop();
 			int p_cy = cy_stack.pop();
 
@@ -158,16 +188,11 @@ public EnumStrategyI calculateConcreteController(boolean calcLongestSimplePath)
 									opt.free();
 									opt = optEx;
 								}
-								int steps = 0;
-								BDD closest = Env.FALSE();
 								// get to the closest state to go to next justice
-								while (closest.isZero()) {
-									closest.free();
-									closest = opt.and(mem.y_mem[next_p_j][steps++]);
-								}
-								candidate = closest;
+								int r = closestRank(opt, next_p_j);
+								candidate = opt.and(mem.y_mem[next_p_j][r]);
 								jcand = next_p_j;
-								succ_cy = steps;
+								succ_cy = r + 1;
 							}
 							opt.free();
 						}
@@ -178,20 +203,12 @@ public EnumStrategyI calculateConcreteController(boolean calcLongestSimplePath)
 					if ((local_kind == 2) | (local_kind == 5) | (local_kind == 11) | (local_kind == 15)
 							| (local_kind == 17) | (local_kind == 22)) {
 						if (p_cy > 0) {
-							int look_r = 0;
 							// look for the fairest r.
-							BDD opt = next_op.and(mem.y_mem[p_j][look_r]);
-							while (opt.isZero() & (look_r < p_cy)) {
-								look_r++;
-								opt.free();
-								opt = next_op.and(mem.y_mem[p_j][look_r]);
-							}
-
-							if ((look_r != p_cy) && (!opt.isZero())) {
-								candidate = opt.id();
+							int look_r = closestRank(next_op, p_j);
+							if (look_r >= 0 && look_r < p_cy) {
+								candidate = next_op.and(mem.y_mem[p_j][look_r]);
 								succ_cy = look_r;
 							}
-							opt.free();
 						}
 					}
 
@@ -268,11 +285,20 @@ public EnumStrategyI calculateConcreteController(boolean calcLongestSimplePath)
 				if (succ != null) {
 					// if a new state was created.
 					st_stack.push(succ);
+					bdd_stack.push(one_cand);
 					cy_stack.push(succ_cy);
 					j_stack.push(jcand);
+				} else {
+					one_cand.free();
 				}
 			}
 			all_succs.free();
+			p_st.free();
+		}
+
+		aut.finish();
+		if (streamPrinter != null) {
+			streamPrinter.end();
 		}
 
 		System.out.println("calculateNewStrategyNewSkip end with node num = " + Env.TRUE().getFactory().getNodeNum());
@@ -280,6 +306,34 @@ public EnumStrategyI calculateConcreteController(boolean calcLongestSimplePath)
 		return aut;
 	}
 
+	/**
+	 * find the lowest rank r such that states intersect y_mem[j][r]
+	 * 
+	 * The ranks of y_mem[j] are monotone, so a binary search replaces the linear
+	 * search over all ranks.
+	 * 
+	 * @param states
+	 * @param j
+	 * @return lowest rank or -1 if states do not intersect any rank
+	 */
+	private int closestRank(BDD states, int j) {
+		int low = 0;
+		int high = mem.y_mem[j].length - 1;
+		int res = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			BDD b = states.and(mem.y_mem[j][mid]);
+			if (b.isZero()) {
+				low = mid + 1;
+			} else {
+				res = mid;
+				high = mid - 1;
+			}
+			b.free();
+		}
+		return res;
+	}
+
 	private BDD getWinningInitialStates() {
 		return mem.getWin().and(sys.initial());
 	}
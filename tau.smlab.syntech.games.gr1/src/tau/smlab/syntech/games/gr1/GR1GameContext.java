@@ -0,0 +1,372 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.gr1;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.javabdd.BDD;
+import net.sf.javabdd.BDDVarSet;
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
+import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.jtlv.Env;
+import tau.smlab.syntech.jtlv.lib.FixPoint;
+
+/**
+ * A context for asking several questions about the same game model. The
+ * transitions do not change between the questions, so the context keeps
+ * 
+ * <ul>
+ * <li>the transitions of both players partitioned (they are never conjoined,
+ * predecessors quantify the primed variables of each player separately),</li>
+ * <li>the results of yieldStates,</li>
+ * <li>the winning region of the system (either given by the caller from a game
+ * that was already solved or computed once by the context),</li>
+ * <li>the cooperative winning region of both players.</li>
+ * </ul>
+ * 
+ * Questions for other initial states or for additional assumptions are answered
+ * by restricting these results instead of solving the game again.
+ *
+ */
+public class GR1GameContext {
+
+	private GameModel model;
+	private PlayerModule env;
+	private PlayerModule sys;
+	private List<BDD> envJustices = new ArrayList<BDD>();
+	private List<BDD> sysJustices = new ArrayList<BDD>();
+
+	/**
+	 * results of yieldStates by target states (keys and values are owned by the
+	 * context)
+	 */
+	private Map<BDD, BDD> yieldCache = new HashMap<BDD, BDD>();
+
+	/**
+	 * winning states given by the caller (not freed by the context)
+	 */
+	private BDD priorWin;
+
+	/**
+	 * winning states computed by the context if none were given
+	 */
+	private BDD win;
+
+	/**
+	 * winning states restricted by the initial constraints of auxiliary variables
+	 */
+	private BDD winAux;
+
+	/**
+	 * states from which both players can cooperatively satisfy all justices
+	 */
+	private BDD coopWin;
+
+	public GR1GameContext(GameModel model) {
+		this(model, null);
+	}
+
+	/**
+	 * @param model
+	 *          the game model
+	 * @param sysWin
+	 *          winning states of the system in model from a game that was already
+	 *          solved (not freed by the context) or null to compute them on demand
+	 */
+	public GR1GameContext(GameModel model, BDD sysWin) {
+		this.model = model;
+		this.env = model.getEnv();
+		this.sys = model.getSys();
+		this.priorWin = sysWin;
+		for (int i = 0; i < env.justiceNum(); i++) {
+			envJustices.add(env.justiceAt(i));
+		}
+		if (envJustices.isEmpty()) {
+			envJustices.add(Env.TRUE());
+		}
+		for (int j = 0; j < sys.justiceNum(); j++) {
+			sysJustices.add(sys.justiceAt(j));
+		}
+		if (sysJustices.isEmpty()) {
+			sysJustices.add(Env.TRUE());
+		}
+	}
+
+	/**
+	 * states from which the system can force the environment to reach to
+	 * 
+	 * @param to
+	 * @return a copy of the cached result
+	 */
+	public BDD yieldStates(BDD to) {
+		BDD res = yieldCache.get(to);
+		if (res == null) {
+			res = env.yieldStates(sys, to);
+			yieldCache.put(to.id(), res);
+		}
+		return res.id();
+	}
+
+	/**
+	 * states from which both players together can reach to in one step
+	 * 
+	 * @param to
+	 * @return
+	 */
+	public BDD pred(BDD to) {
+		return pred(to, null);
+	}
+
+	/**
+	 * @param to
+	 * @param moreTrans
+	 *          additional safety assumptions or null
+	 * @return
+	 */
+	private BDD pred(BDD to, BDD moreTrans) {
+		BDD primedTo = Env.prime(to);
+		BDD sysPred = sys.trans().relprod(primedTo, sys.modulePrimeVars());
+		primedTo.free();
+		if (moreTrans != null) {
+			sysPred.andWith(moreTrans.id());
+		}
+		BDD res = env.trans().relprod(sysPred, env.modulePrimeVars());
+		sysPred.free();
+		return res;
+	}
+
+	/**
+	 * compute all states from which both players together can reach to
+	 * 
+	 * @param to
+	 * @return
+	 */
+	public BDD reachBwd(BDD to) {
+		return reachBwd(to, null);
+	}
+
+	private BDD reachBwd(BDD to, BDD moreTrans) {
+		BDD attr = Env.FALSE(); // no states
+		FixPoint f = new FixPoint(true);
+		while (f.advance(attr)) {
+			attr = to.id().orWith(pred(attr, moreTrans));
+		}
+		f.free();
+		return attr;
+	}
+
+	/**
+	 * @return the winning states of the system (must not be freed)
+	 */
+	public BDD sysWinningStates() {
+		if (priorWin != null) {
+			return priorWin;
+		}
+		if (win == null) {
+			win = computeSysWin();
+		}
+		return win;
+	}
+
+	/**
+	 * check whether the system wins from all initial inputs of the environment
+	 * when its initial choices are restricted by sysIni (and the initial
+	 * constraints of auxiliary variables)
+	 * 
+	 * @param sysIni
+	 *          initial constraints of the system to use instead of the ones of the
+	 *          model
+	 * @return true if the system wins from all initial inputs
+	 */
+	public boolean sysWinsAllIni(BDD sysIni) {
+		if (winAux == null) {
+			winAux = sysWinningStates().id();
+			for (BehaviorInfo aux : model.getAuxBehaviorInfo()) {
+				if (aux.isInitial()) {
+					winAux.andWith(aux.initial.id());
+				}
+			}
+		}
+		BDD sysWin = winAux.and(sysIni);
+		// some initial inputs without winning initial system choice
+		BDD sysWinIni = sysWin.exist(sys.moduleUnprimeVars());
+		sysWin.free();
+		BDD lost = env.initial().id().andWith(sysWinIni.not());
+		sysWinIni.free();
+		boolean allIni = lost.isZero();
+		lost.free();
+		return allIni;
+	}
+
+	/**
+	 * check whether there is a common way to satisfy assumptions and guarantees
+	 * from ini
+	 * 
+	 * @param ini
+	 *          initial states to check instead of the ones of the model
+	 * @return
+	 */
+	public boolean couldAsmHelp(BDD ini) {
+		if (coopWin == null) {
+			coopWin = commonGeneralizedBuchi(Env.TRUE(), null, null);
+		}
+		BDD iniWin = ini.and(coopWin);
+		boolean commonSat = !iniWin.isZero();
+		iniWin.free();
+		return commonSat;
+	}
+
+	/**
+	 * Checks whether additional assumptions still allow a common way to satisfy
+	 * assumptions and guarantees. Additional assumptions only remove states from
+	 * the cooperative winning region, so the fixed point starts from the region
+	 * of the model instead of from all states.
+	 * 
+	 * @param ini
+	 *          initial states
+	 * @param moreTrans
+	 *          additional safety assumptions
+	 * @param moreBuchis
+	 *          additional justice assumptions
+	 * @return
+	 */
+	public boolean couldAsmHelp(BDD ini, BDD moreTrans, List<BDD> moreBuchis) {
+		if (!couldAsmHelp(ini)) {
+			return false;
+		}
+		BDD restrictedWin = commonGeneralizedBuchi(coopWin.id(), moreTrans, moreBuchis);
+		BDD iniWin = ini.and(restrictedWin);
+		restrictedWin.free();
+		boolean commonSat = !iniWin.isZero();
+		iniWin.free();
+		return commonSat;
+	}
+
+	/**
+	 * compute a cooperative solution to the generalized Buchi game of all
+	 * justices
+	 * 
+	 * @param Z
+	 *          a superset of the winning states to start from (consumed)
+	 * @param moreTrans
+	 *          additional safety assumptions or null
+	 * @param moreBuchis
+	 *          additional justices or null
+	 * @return
+	 */
+	private BDD commonGeneralizedBuchi(BDD Z, BDD moreTrans, List<BDD> moreBuchis) {
+		List<BDD> buchis = new ArrayList<BDD>(sysJustices);
+		buchis.addAll(envJustices);
+		if (moreBuchis != null) {
+			buchis.addAll(moreBuchis);
+		}
+		FixPoint zFix = new FixPoint(true);
+		while (zFix.advance(Z)) {
+			Z = Z.id();
+			for (BDD buchi : buchis) {
+				BDD start = buchi.id().andWith(pred(Z, moreTrans));
+				BDD nextZ = Z.id().andWith(reachBwd(start, moreTrans));
+				Z.free();
+				Z = nextZ;
+				start.free();
+			}
+		}
+		zFix.free();
+		return Z;
+	}
+
+	/**
+	 * compute the winning states of the system without memory
+	 * 
+	 * @return
+	 */
+	private BDD computeSysWin() {
+		BDD z = Env.TRUE();
+		FixPoint iterZ = new FixPoint(true);
+		while (iterZ.advance(z)) {
+			BDD nextZ = Env.TRUE();
+			for (BDD sysJustice : sysJustices) {
+				BDD yieldZandJj = yieldStates(z).andWith(sysJustice.id());
+				BDD y = Env.FALSE();
+				FixPoint iterY = new FixPoint(true);
+				while (iterY.advance(y)) {
+					BDD start = yieldZandJj.id().orWith(yieldStates(y));
+					y = Env.FALSE();
+					for (BDD envJustice : envJustices) {
+						BDD negp = envJustice.not();
+						BDD x = z.id();
+						FixPoint iterX = new FixPoint(true);
+						while (iterX.advance(x)) {
+							x = yieldStates(x).andWith(negp.id()).orWith(start.id());
+						}
+						iterX.free();
+						y.orWith(x);
+						negp.free();
+					}
+					start.free();
+				}
+				iterY.free();
+				yieldZandJj.free();
+				nextZ.andWith(y);
+			}
+			z = nextZ;
+		}
+		iterZ.free();
+		return z;
+	}
+
+	/**
+	 * free the BDDs kept by the context (the winning states given to the
+	 * constructor are not freed)
+	 */
+	public void free() {
+		for (Map.Entry<BDD, BDD> e : yieldCache.entrySet()) {
+			e.getKey().free();
+			e.getValue().free();
+		}
+		yieldCache.clear();
+		if (win != null) {
+			win.free();
+			win = null;
+		}
+		if (winAux != null) {
+			winAux.free();
+			winAux = null;
+		}
+		if (coopWin != null) {
+			coopWin.free();
+			coopWin = null;
+		}
+	}
+
+}
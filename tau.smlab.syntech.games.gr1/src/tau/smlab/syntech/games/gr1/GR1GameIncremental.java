@@ -256,6 +256,9 @@ public boolean checkRealizability() {
 			// mem.x_mem = getXMemoryCopy(prevXMem, 50);
 			for (int j = 0; j < incMem.prevXMem.length; j++) {
 				for (int i = 0; i < incMem.prevXMem[j].length; i++) {
+					if (incMem.prevXMem[j][i].length > mem.x_mem[j][i].length) {
+						mem.x_mem = mem.extend_size(mem.x_mem, incMem.prevXMem[j][i].length - mem.x_mem[j][i].length);
+					}
 					for (int k = 0; k < incMem.prevXMem[j][i].length; k++) {
 						mem.x_mem[j][i][k] = incMem.prevXMem[j][i][k].id();
 					}
@@ -263,12 +266,16 @@ public boolean checkRealizability() {
 			}
 
 			firstZIterMem = incMem.getZMemoryCopy(incMem.prevFirstZIterMem, sys.justiceNum());
-			z = incMem.prevZMem[incMem.prevZMem.length - 1];
+			z.free();
+			z = incMem.prevZMem[incMem.prevZMem.length - 1].id();
 			System.out.println(
 					"New justice was added, starting from jStartIdx=" + jStartIdx + " and z.isOne=" + z.isOne());
-		} else if (incMem.NEW_JUSTICE_ADDED || incMem.NEW_SAFETY_ADDED) {
+		} else if (incMem.NEW_JUSTICE_ADDED || incMem.NEW_SAFETY_ADDED || !incMem.startZ.isOne()) {
+			// NOTE: startZ is the winning region of a game with less restrictions, the
+			// greatest fixed-point can start from it instead of from TRUE
 			System.out.println("use startZ");
-			z = incMem.startZ;
+			z.free();
+			z = incMem.startZ.id();
 		}
 
 		System.out.println("is starting Z from One = " + z.isOne());
@@ -286,9 +293,10 @@ public boolean checkRealizability() {
 					mem.z_mem[k] = incMem.prevFirstZIterMem[k].id();
 					firstZIterMem[k] = incMem.prevFirstZIterMem[k].id();
 				}
-				if (z != null)
-					z.free();
-				z = incMem.prevFirstZIterMem[incMem.leastRemovedJusticeIdx - 1];
+				// NOTE: iterZ keeps the freed z, so it cannot detect a fixed-point after
+				// this partial first iteration
+				z.free();
+				z = incMem.prevFirstZIterMem[incMem.leastRemovedJusticeIdx - 1].id();
 				jStartIdx = incMem.leastRemovedJusticeIdx;
 				System.out.println("starting first z iteration from jStartIdx = " + jStartIdx);
 			}
@@ -320,7 +328,8 @@ public boolean checkRealizability() {
 							x.free();
 						}
 
-						if (incMem.NEW_SAFETY_ADDED && j < incMem.prevXMem.length /* prevPartialXMem.length */) {
+						if (incMem.NEW_SAFETY_ADDED && j < incMem.prevXMem.length /* prevPartialXMem.length */
+								&& incMem.prevXMem[j][i].length > 0) {
 							System.out.println("use prevXMem[" + j + "][" + i + "][" + cy + "] for current X");
 							int k = cy;
 							if (incMem.prevXMem[j][i].length <= cy) {
@@ -448,6 +457,10 @@ public boolean checkRealizability() {
 	@Override
 	public void free() {
 		Env.free(firstZIterMem);
+		if (incMem.startZ != null) {
+			incMem.startZ.free();
+			incMem.startZ = null;
+		}
 		mem.free();
 	}
 
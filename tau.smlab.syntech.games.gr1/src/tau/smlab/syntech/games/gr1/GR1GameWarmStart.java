@@ -0,0 +1,110 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.gr1;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.gamemodel.GameModel;
+
+/**
+ * Runs a sequence of realizability checks where every game is at least as
+ * restrictive for the system as the game of the last accepted check, e.g., the
+ * checks of a delta debugging minimization that only continues with subsets of
+ * the last passing part.
+ * 
+ * The winning region of a game can only shrink in such a sequence. Every check
+ * therefore starts the outer greatest fixed-point of {@link GR1GameIncremental}
+ * from the winning region of the last accepted check instead of from TRUE.
+ *
+ */
+public class GR1GameWarmStart {
+
+	/**
+	 * winning region of the last accepted check
+	 */
+	private BDD startZ = null;
+
+	/**
+	 * winning region of the last check that was not yet accepted or discarded
+	 */
+	private BDD lastWin = null;
+
+	/**
+	 * check realizability of the model starting from the winning region of the
+	 * last accepted check
+	 * 
+	 * @param model
+	 * @return true if the system wins from all initial states
+	 */
+	public boolean checkRealizability(GameModel model) {
+		GR1GameIncremental gr1 = new GR1GameIncremental(model);
+		if (startZ != null) {
+			gr1.GetGameIncrementalMemory().addToStartZ(startZ, 0);
+		}
+		boolean realizable = gr1.checkRealizability();
+		if (lastWin != null) {
+			lastWin.free();
+		}
+		lastWin = gr1.sysWinningStates().id();
+		gr1.free();
+		return realizable;
+	}
+
+	/**
+	 * the winning region of the last check is used as a start for the following
+	 * checks (only allowed if they are at least as restrictive)
+	 */
+	public void accept() {
+		if (lastWin == null) {
+			return;
+		}
+		if (startZ != null) {
+			startZ.free();
+		}
+		startZ = lastWin;
+		lastWin = null;
+	}
+
+	/**
+	 * the winning region of the last check is not used for following checks
+	 */
+	public void discard() {
+		if (lastWin != null) {
+			lastWin.free();
+			lastWin = null;
+		}
+	}
+
+	public void free() {
+		discard();
+		if (startZ != null) {
+			startZ.free();
+			startZ = null;
+		}
+	}
+}
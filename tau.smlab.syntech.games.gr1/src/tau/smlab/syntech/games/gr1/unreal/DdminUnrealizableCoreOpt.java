@@ -63,6 +63,8 @@ public class DdminUnrealizableCoreOpt extends DdminUnrealizableCore {
 	static public boolean MINIMIZE_INI_STATES = false;
 	static public boolean CHECK_SAFETY_GAME_FIRST = false;
 
+	private static final String CUDD_FACTORY = "CUDDFactory";
+
 	public class Segment implements Comparable<Segment> {
 
 		private int low;
@@ -311,6 +313,25 @@ protected List<BehaviorInfo> ddmin(List<BehaviorInfo> elements, int n, List<List
 		return elements;
 	}
 
+	/**
+	 * the incremental checks rely on the memory of the previous check, which
+	 * would be stale after a check answered from memoized results
+	 */
+	@Override
+	protected boolean useMemo() {
+		return !isIncremental() && super.useMemo();
+	}
+
+	/**
+	 * the parent and segment memory follows the parts of {@link #ddmin}, the
+	 * other strategies solve every check from scratch
+	 * 
+	 * @return true if checks reuse the memory of earlier checks
+	 */
+	private boolean isIncremental() {
+		return getStrategy() == Strategy.DDMIN;
+	}
+
 	@Override
 	protected boolean check(List<BehaviorInfo> part) {
 
@@ -323,19 +344,27 @@ protected boolean check(List<BehaviorInfo> part) {
 		}
 
 		boolean unrealizable = false;
-		GR1GameIncremental gr1Inc = new GR1GameIncrementalImplC(model);
-		// new GR1GameIncremental(model);
+		GR1GameIncremental gr1Inc;
+		if (useNativeIncrementalGame()) {
+			gr1Inc = new GR1GameIncrementalImplC(model);
+		} else {
+			gr1Inc = new GR1GameIncremental(model);
+		}
 		RabinGameIncrementalImplC rabinInc = new RabinGameIncrementalImplC(model);
 		;
 		if (gameType.equals(GameType.GR1_GAME)) {
-			buildIncrementProfile(gr1Inc.GetGameIncrementalMemory(), part);
+			if (isIncremental()) {
+				buildIncrementProfile(gr1Inc.GetGameIncrementalMemory(), part);
+			}
 			unrealizable = !gr1Inc.checkRealizability();
 		} else if (gameType.equals(GameType.RABIN_GAME)) {
-			buildIncrementProfile(rabinInc.GetGameIncrementalMemory(), part);
+			if (isIncremental()) {
+				buildIncrementProfile(rabinInc.GetGameIncrementalMemory(), part);
+			}
 			unrealizable = rabinInc.checkRealizability();
 		}
 
-		if (saveSibling && (!USE_NEGATIVE_SETS_LIST || unrealizable)) {
+		if (isIncremental() && saveSibling && (!USE_NEGATIVE_SETS_LIST || unrealizable)) {
 			System.out.println("saveSibling - saveSegment for next iters, segment " + currSegment);
 
 			if (segmentMemMap.containsKey(currSegment)) {
@@ -365,7 +394,7 @@ protected boolean check(List<BehaviorInfo> part) {
 
 		}
 
-		if (unrealizable && saveParent) {
+		if (isIncremental() && unrealizable && saveParent) {
 			System.out.println("unrealizable - saving parent memory for next iter");
 			parentSegment.bahaviorInfo = new ArrayList<BehaviorInfo>(part);
 
@@ -396,6 +425,16 @@ protected boolean check(List<BehaviorInfo> part) {
 		return unrealizable;
 	}
 
+	/**
+	 * the native incremental game is only available with CUDD, the other BDD
+	 * packages use the Java implementation of the same incremental steps
+	 * 
+	 * @return true if the incremental GR(1) game should run in C
+	 */
+	private boolean useNativeIncrementalGame() {
+		return cImpl || Env.getFactoryName().startsWith(CUDD_FACTORY);
+	}
+
 	private boolean removeRedundantIni(List<BehaviorInfo> part) {
 		if (!MINIMIZE_INI_STATES) {
 			return false;
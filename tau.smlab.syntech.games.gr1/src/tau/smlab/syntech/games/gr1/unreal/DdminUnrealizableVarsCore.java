@@ -31,8 +31,12 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 import tau.smlab.syntech.games.util.AbstractDdmin;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
+import net.sf.javabdd.BDD;
+import net.sf.javabdd.BDDVarSet;
+import tau.smlab.syntech.gamemodel.BehaviorInfo;
 import tau.smlab.syntech.gamemodel.GameModel;
 import tau.smlab.syntech.gamemodel.util.GameBuilderUtil;
 import tau.smlab.syntech.jtlv.env.module.ModuleBDDField;
@@ -47,6 +51,12 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 public abstract class DdminUnrealizableVarsCore extends AbstractDdmin<ModuleBDDField> {
 
+	/**
+	 * remove variables outside the cone of influence of the system constraints
+	 * before running ddmin
+	 */
+	static public boolean CONE_OF_INFLUENCE = true;
+
 	private GameModel model;
 	private List<ModuleBDDField> sysVars;
 
@@ -56,7 +66,7 @@ public abstract class DdminUnrealizableVarsCore extends AbstractDdmin<ModuleBDDF
 	 * @return
 	 */
 	public abstract boolean realizable(GameModel gm);
-	
+
 	/**
 	 * auxiliaries are always added to the system module
 	 * 
@@ -87,4 +97,63 @@ protected boolean check(List<ModuleBDDField> part) {
 		return !realizable(model);
 	}
 
+	@Override
+	public List<ModuleBDDField> minimize(List<ModuleBDDField> elements, List<List<ModuleBDDField>> negSets) {
+		if (CONE_OF_INFLUENCE) {
+			elements = coneOfInfluence(elements);
+		}
+		return super.minimize(elements, negSets);
+	}
+
+	/**
+	 * Keeps only the variables that occur in the support of some justice, safety
+	 * or initial constraint of the system (including auxiliary constraints).
+	 * 
+	 * {@link #check(List)} quantifies variables only out of these constraints, so
+	 * quantifying any other variable leaves the game unchanged. Such variables can
+	 * never be part of a minimal core and removing them up front saves the checks
+	 * ddmin would spend on them.
+	 * 
+	 * @param vars
+	 * @return the variables in the cone of influence (in their original order)
+	 */
+	private List<ModuleBDDField> coneOfInfluence(List<ModuleBDDField> vars) {
+		BitSet cone = new BitSet();
+		List<BehaviorInfo> behaviors = new ArrayList<BehaviorInfo>();
+		behaviors.addAll(model.getSysBehaviorInfo());
+		behaviors.addAll(model.getAuxBehaviorInfo());
+		for (BehaviorInfo b : behaviors) {
+			addSupport(cone, b.justice);
+			addSupport(cone, b.safety);
+			addSupport(cone, b.initial);
+		}
+
+		List<ModuleBDDField> res = new ArrayList<ModuleBDDField>();
+		for (ModuleBDDField v : vars) {
+			BDDVarSet support = v.support();
+			for (int i : support.toArray()) {
+				if (cone.get(i)) {
+					res.add(v);
+					break;
+				}
+			}
+			support.free();
+		}
+		if (res.size() < vars.size()) {
+			System.out.println("ddmin: cone of influence removed " + (vars.size() - res.size()) + " of " + vars.size() + " variables");
+		}
+		return res;
+	}
+
+	private static void addSupport(BitSet cone, BDD b) {
+		if (b == null || b.isFree()) {
+			return;
+		}
+		BDDVarSet support = b.support();
+		for (int i : support.toArray()) {
+			cone.set(i);
+		}
+		support.free();
+	}
+
 }
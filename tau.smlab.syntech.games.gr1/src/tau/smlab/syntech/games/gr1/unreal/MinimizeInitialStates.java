@@ -28,21 +28,29 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 package tau.smlab.syntech.games.gr1.unreal;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import net.sf.javabdd.BDD;
 import tau.smlab.syntech.gamemodel.BehaviorInfo;
 import tau.smlab.syntech.gamemodel.GameModel;
-import tau.smlab.syntech.gamemodel.ModuleException;
+import tau.smlab.syntech.games.gr1.GR1GameContext;
 import tau.smlab.syntech.games.util.AbstractDdmin;
 import tau.smlab.syntech.jtlv.Env;
 
+/**
+ * minimizes the initial guarantees that keep the system from winning from all
+ * initial states given the winning region of a game that was already solved.
+ * 
+ * The checks are answered on a {@link GR1GameContext} of the model, so every
+ * check only restricts the initial states of the winning region by the initial
+ * guarantees of the part.
+ *
+ */
 public class MinimizeInitialStates extends AbstractDdmin<BehaviorInfo> {
 
 	private BDD winSysStates;
-	private BDD iniSysStates = Env.TRUE();
 	private GameModel model;
+	private GR1GameContext ctx;
 
 	public MinimizeInitialStates(GameModel model, BDD winSys) {
 		this.winSysStates = winSys;
@@ -56,37 +64,39 @@ public MinimizeInitialStates(GameModel model, BDD winSys) {
 	 */
 	@Override
 	protected boolean check(List<BehaviorInfo> part) {
-
-		try {
-			buildSysInitial(part);
-		} catch (ModuleException e) {
-			throw new RuntimeException(e);
+		if (ctx == null) {
+			ctx = new GR1GameContext(model, winSysStates);
 		}
 
-		BDD sysWin = winSysStates.and(iniSysStates);
-		BDD result = model.getEnv().initial().id().impWith(sysWin.exist(model.getSys().moduleUnprimeVars()))
-				.forAll(model.getEnv().moduleUnprimeVars());
-		sysWin.free();
-
-		boolean allIni = result.isOne();
-		result.free();
-		iniSysStates.free();
+		BDD sysIni = Env.TRUE();
+		for (BehaviorInfo gar : part) {
+			if (gar.isInitial()) {
+				sysIni.andWith(gar.initial.id());
+			}
+		}
+		boolean allIni = ctx.sysWinsAllIni(sysIni);
+		sysIni.free();
 
 		return !allIni;
 	}
 
-	public void buildSysInitial(List<BehaviorInfo> part) throws ModuleException {
-
-		iniSysStates = Env.TRUE();
-
-		ArrayList<BehaviorInfo> gars = new ArrayList<BehaviorInfo>();
-		gars.addAll(model.getAuxBehaviorInfo());
-		gars.addAll(part);
+	@Override
+	public List<BehaviorInfo> minimize(List<BehaviorInfo> elements, List<List<BehaviorInfo>> negSets) {
+		try {
+			return super.minimize(elements, negSets);
+		} finally {
+			free();
+		}
+	}
 
-		for (BehaviorInfo gar : gars) {
-			if (gar.isInitial()) {
-				iniSysStates.andWith(gar.initial.id());
-			}
+	/**
+	 * free the BDDs shared by the checks (the winning states given to the
+	 * constructor are not freed)
+	 */
+	public void free() {
+		if (ctx != null) {
+			ctx.free();
+			ctx = null;
 		}
 	}
 
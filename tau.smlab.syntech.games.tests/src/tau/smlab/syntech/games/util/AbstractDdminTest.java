@@ -0,0 +1,84 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import tau.smlab.syntech.games.util.AbstractDdmin.Strategy;
+
+public class AbstractDdminTest {
+
+  /**
+   * parts that contain {2, 5, 11} or {7, 8} pass the check
+   */
+  private static class TwoCores extends AbstractDdmin<Integer> {
+    @Override
+    protected boolean check(List<Integer> part) {
+      return part.containsAll(Arrays.asList(2, 5, 11)) || part.containsAll(Arrays.asList(7, 8));
+    }
+  }
+
+  private static List<Integer> elements() {
+    List<Integer> elements = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      elements.add(i);
+    }
+    return elements;
+  }
+
+  @Test
+  public void allStrategiesComputeMinimalCore() {
+    for (Strategy s : Strategy.values()) {
+      TwoCores ddmin = new TwoCores();
+      ddmin.setStrategy(s);
+      List<Integer> core = ddmin.minimize(elements());
+      assertTrue(s + " core " + core + " fails", ddmin.check(core));
+      for (Integer e : core) {
+        List<Integer> smaller = new ArrayList<>(core);
+        smaller.remove(e);
+        assertFalse(s + " core " + core + " is not minimal", ddmin.check(smaller));
+      }
+    }
+  }
+
+  @Test
+  public void strategyIsPerInstance() {
+    TwoCores quickXplain = new TwoCores();
+    quickXplain.setStrategy(Strategy.QUICKXPLAIN);
+    assertTrue(new TwoCores().getStrategy() == Strategy.DDMIN);
+    assertTrue(quickXplain.getStrategy() == Strategy.QUICKXPLAIN);
+  }
+}
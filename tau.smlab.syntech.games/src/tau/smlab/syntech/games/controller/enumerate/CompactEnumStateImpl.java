@@ -0,0 +1,134 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.controller.enumerate;
+
+import java.util.Vector;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.games.AbstractGamesException;
+import tau.smlab.syntech.games.GamesStrategyException;
+
+/**
+ * view on a state stored in a {@link CompactEnumStrategyImpl}
+ */
+public class CompactEnumStateImpl implements EnumStateI {
+	private CompactEnumStrategyImpl holder;
+	private int id;
+
+	CompactEnumStateImpl(CompactEnumStrategyImpl holder, int id) {
+		this.holder = holder;
+		this.id = id;
+	}
+
+	@Override
+	public void addSuccessor(StateI add) throws AbstractGamesException {
+		if (!(add instanceof CompactEnumStateImpl) || ((CompactEnumStateImpl) add).holder != holder)
+			throw new GamesStrategyException("Cannot add successor from"
+					+ " different type");
+		holder.addEdge(id, ((CompactEnumStateImpl) add).id);
+	}
+
+	@Override
+	public EnumStrategyI getHolder() {
+		return this.holder;
+	}
+
+	@Override
+	public int getStateId() {
+		return this.id;
+	}
+
+	@Override
+	public AbstractRankInfo get_rank_info() {
+		return holder.getRankInfo(id);
+	}
+
+	@Override
+	public Vector<EnumStateI> getSuccessors() {
+		return holder.getSuccessors(id);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof CompactEnumStateImpl))
+			return false;
+		CompactEnumStateImpl other_raw = (CompactEnumStateImpl) other;
+
+		return (this.holder == other_raw.holder) & (this.id == other_raw.id);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.id;
+	}
+
+	@Override
+	public boolean isInitial() {
+		return holder.isInitial(id);
+	}
+
+	/**
+	 * @return the BDD of the assignment of this state (kept by the strategy, do
+	 *         not free)
+	 */
+	@Override
+	public BDD getData() {
+		return holder.getData(id);
+	}
+
+	@Override
+	public int getNumOutEdges() {
+		return holder.getNumOutEdges(id);
+	}
+
+	@Override
+	public int getNumInEdges() {
+		return holder.getNumInEdges(id);
+	}
+
+	@Override
+	public int getDistFromIni() {
+		return holder.getDistFromIni(id);
+	}
+
+	@Override
+	public void incNumOutEdges() {
+		holder.incNumOutEdges(id);
+	}
+
+	@Override
+	public void incNumInEdges() {
+		holder.incNumInEdges(id);
+	}
+
+	@Override
+	public boolean updateDistFromIni(int neighborDist) {
+		return holder.updateDistFromIni(id, neighborDist);
+	}
+}
@@ -0,0 +1,647 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package tau.smlab.syntech.games.controller.enumerate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+import net.sf.javabdd.BDD;
+import net.sf.javabdd.BDDFactory;
+import net.sf.javabdd.BDDVarSet;
+import tau.smlab.syntech.games.AbstractGamesException;
+import tau.smlab.syntech.games.GamesStrategyException;
+import tau.smlab.syntech.games.controller.enumerate.printers.EnumStrategyStreamPrinter;
+import tau.smlab.syntech.jtlv.Env;
+
+/**
+ * An explicit strategy that keeps its states in primitive arrays.
+ *
+ * Every state is a full assignment to a fixed set of variables and is stored as
+ * a packed bit vector together with the index of its rank. States are looked up
+ * through an open addressing hash table over these bit vectors. Transitions are
+ * chained per source state during construction and are handed out from
+ * compressed (CSR) successor arrays once {@link #finish()} was called.
+ *
+ * The state objects returned by this strategy are lightweight views. The BDD
+ * of a state is created on the first call of {@link EnumStateI#getData()} and
+ * kept until {@link #free()}, so callers must not free it.
+ *
+ * States and transitions can be streamed to an
+ * {@link EnumStrategyStreamPrinter} while they are added. If transitions are
+ * not stored in addition, only the states remain in memory.
+ */
+public class CompactEnumStrategyImpl implements EnumStrategyI {
+
+  private static final long HASH_MULT = 0x9E3779B97F4A7C15L;
+
+  private BDDFactory factory;
+  // BDD variable of every bit and bit position of every BDD variable
+  private int[] vars;
+  private int[] varPos;
+  private int words;
+
+  // states
+  private int numStates;
+  private long[] stateBits;
+  private int[] stateRank;
+  private BitSet initial;
+  private int[] numInEdges;
+  private int[] numOutEdges;
+  private int[] distFromIni;
+
+  // lookup table of state ids + 1 (0 marks a free slot)
+  private int[] table;
+
+  // ranks
+  private List<AbstractRankInfo> ranks;
+  private Map<AbstractRankInfo, Integer> rankIds;
+  private List<BDD> statesOfRank;
+  // states of rank are disjoined lazily up to this state id
+  private int[] statesOfRankUpTo;
+
+  // transitions in insertion order chained per source state
+  private int numEdges;
+  private int[] edgeTo;
+  private int[] edgeNext;
+  private int[] firstEdge;
+  private int[] lastEdge;
+
+  // successors in CSR format (built by finish)
+  private int[] succOffsets;
+  private int[] succTargets;
+  private boolean finished = false;
+
+  // BDDs of the states handed out by getData
+  private BDD[] stateData;
+
+  private EnumStrategyStreamPrinter streamPrinter;
+  private boolean storeTransitions = true;
+
+  private long wakeup_time = -1;
+  private long construction_time = -1;
+
+  private int numTransitions;
+  private int lenLongestShortestPath;
+  private int maxNumOutEdgesPerState;
+  private int maxNumInEdgesPerState;
+  private boolean calcLenLongestShortestPath;
+
+  /**
+   * @param vars the variables every state assigns (states have to be full
+   *             assignments to these variables)
+   */
+  public CompactEnumStrategyImpl(BDDVarSet vars) {
+    this(vars, false);
+  }
+
+  public CompactEnumStrategyImpl(BDDVarSet vars, boolean calcStats) {
+    this.factory = Env.TRUE().getFactory();
+    this.vars = vars.toArray();
+    this.varPos = new int[factory.varNum()];
+    Arrays.fill(varPos, -1);
+    for (int i = 0; i < this.vars.length; i++) {
+      varPos[this.vars[i]] = i;
+    }
+    this.words = Math.max(1, (this.vars.length + 63) >>> 6);
+
+    int cap = 16;
+    stateBits = new long[cap * words];
+    stateRank = new int[cap];
+    initial = new BitSet();
+    numInEdges = new int[cap];
+    numOutEdges = new int[cap];
+    distFromIni = new int[cap];
+    firstEdge = new int[cap];
+    lastEdge = new int[cap];
+    table = new int[2 * cap];
+
+    edgeTo = new int[cap];
+    edgeNext = new int[cap];
+
+    ranks = new ArrayList<>();
+    rankIds = new HashMap<>();
+    statesOfRank = new ArrayList<>();
+    statesOfRankUpTo = new int[4];
+
+    wakeup_time = System.currentTimeMillis();
+    numTransitions = 0;
+    maxNumOutEdgesPerState = 0;
+    maxNumInEdgesPerState = 0;
+    calcLenLongestShortestPath = calcStats;
+  }
+
+  /**
+   * streams every new state and transition to the printer
+   *
+   * @param printer
+   * @param storeTransitions whether transitions are also kept in the strategy
+   *                         (always the case when statistics are calculated)
+   */
+  public void setStreamPrinter(EnumStrategyStreamPrinter printer, boolean storeTransitions) {
+    this.streamPrinter = printer;
+    this.storeTransitions = storeTransitions || calcLenLongestShortestPath;
+  }
+
+  /**
+   * looks up a state or adds it to the automaton
+   *
+   * if the state is not already in the automaton it is created as an initial state
+   */
+  @Override
+  public EnumStateI getState(BDD state, AbstractRankInfo rank) throws AbstractGamesException {
+    long[] bits = encode(state);
+    int r = rankId(rank);
+    int s = lookUpState(bits, r);
+    if (s < 0) {
+      checkNotFinished();
+      s = addState(bits, r, true);
+      construction_time = System.currentTimeMillis() - wakeup_time;
+    }
+    return new CompactEnumStateImpl(this, s);
+  }
+
+  @Override
+  public EnumStateI getState(int id) throws ArrayIndexOutOfBoundsException {
+    if (id < 0 || id >= numStates) {
+      throw new ArrayIndexOutOfBoundsException(id);
+    }
+    return new CompactEnumStateImpl(this, id);
+  }
+
+  @Override
+  public EnumStateI addSuccessorState(EnumStateI from, BDD state, AbstractRankInfo rank)
+      throws AbstractGamesException {
+    checkNotFinished();
+    int f = stateId(from);
+    numOutEdges[f]++;
+    this.maxNumOutEdgesPerState = Math.max(numOutEdges[f], this.maxNumOutEdgesPerState);
+
+    long[] bits = encode(state);
+    int r = rankId(rank);
+    int succ = lookUpState(bits, r);
+    if (succ >= 0) {
+      numInEdges[succ]++;
+      this.maxNumInEdgesPerState = Math.max(numInEdges[succ], this.maxNumInEdgesPerState);
+      if (this.calcLenLongestShortestPath) {
+        boolean updated = updateDistFromIni(succ, distFromIni[f]);
+        if (updated) {
+          // this calculation can be expensive, which is why we only perform it when the user
+          // explicitly requests it via calcLenLongestSimplePath flag
+          LinkedList<Integer> workList = new LinkedList<Integer>();
+          workList.add(succ);
+          while (!workList.isEmpty()) {
+            int currSucc = workList.pop();
+            for (int e = firstEdge[currSucc]; e != -1; e = edgeNext[e]) {
+              if (updateDistFromIni(edgeTo[e], distFromIni[currSucc])) {
+                workList.add(edgeTo[e]);
+              }
+            }
+          }
+        }
+      }
+      this.lenLongestShortestPath = Math.max(distFromIni[succ], this.lenLongestShortestPath);
+      addEdge(f, succ);
+      construction_time = System.currentTimeMillis() - wakeup_time;
+      numTransitions++;
+      return null;
+    }
+    // else succ not existent
+    int to = addState(bits, r, false);
+    numInEdges[to]++;
+    this.maxNumInEdgesPerState = Math.max(numInEdges[to], this.maxNumInEdgesPerState);
+    if (this.calcLenLongestShortestPath) {
+      updateDistFromIni(to, distFromIni[f]);
+      this.lenLongestShortestPath = Math.max(distFromIni[to], this.lenLongestShortestPath);
+    }
+
+    addEdge(f, to);
+    construction_time = System.currentTimeMillis() - wakeup_time;
+    numTransitions++;
+    return new CompactEnumStateImpl(this, to);
+  }
+
+  /**
+   * for states with ReactiveRankInfo retrive all of given rank
+   *
+   * @param rank
+   * @return direct reference to the BDD of all states of the rank
+   */
+  public BDD getStatesOfRank(AbstractRankInfo rank) {
+    Integer r = rankIds.get(rank);
+    if (r == null) {
+      return Env.FALSE();
+    }
+    BDD sor = statesOfRank.get(r);
+    for (int s = statesOfRankUpTo[r]; s < numStates; s++) {
+      if (stateRank[s] == r) {
+        sor.orWith(decode(s));
+      }
+    }
+    statesOfRankUpTo[r] = numStates;
+    return sor;
+  }
+
+  /**
+   * ends the construction: builds the compressed successor arrays and releases
+   * the transition chains (no states or transitions can be added afterwards)
+   */
+  public void finish() {
+    if (finished) {
+      return;
+    }
+    succOffsets = new int[numStates + 1];
+    succTargets = new int[numEdges];
+    int k = 0;
+    for (int s = 0; s < numStates; s++) {
+      succOffsets[s] = k;
+      for (int e = firstEdge[s]; e != -1; e = edgeNext[e]) {
+        succTargets[k++] = edgeTo[e];
+      }
+    }
+    succOffsets[numStates] = k;
+    edgeTo = null;
+    edgeNext = null;
+    firstEdge = null;
+    lastEdge = null;
+    finished = true;
+  }
+
+  /**
+   * free the BDDs of the states handed out by {@link EnumStateI#getData()} and
+   * of the states of each rank (the strategy must not be used afterwards)
+   */
+  public void free() {
+    Env.free(stateData);
+    stateData = null;
+    Env.free(statesOfRank);
+    statesOfRank.clear();
+  }
+
+  @Override
+  public int numOfStates() {
+    return this.numStates;
+  }
+
+  @Override
+  public long getConstructionTime() {
+    return this.construction_time;
+  }
+
+  @Override
+  public Vector<? extends StateI> getInitialStates() {
+    Vector<StateI> ret = new Vector<StateI>();
+    for (int s = initial.nextSetBit(0); s >= 0; s = initial.nextSetBit(s + 1)) {
+      ret.add(new CompactEnumStateImpl(this, s));
+    }
+    return ret;
+  }
+
+  @Override
+  public Vector<? extends StateI> getNextState(StateI st) {
+    if (st instanceof EnumStateI)
+      return ((EnumStateI) st).getSuccessors();
+    return new Vector<StateI>();
+  }
+
+  @Override
+  public Vector<? extends EnumStateI> enumController() {
+    Vector<EnumStateI> ret = new Vector<EnumStateI>(numStates);
+    for (int s = 0; s < numStates; s++) {
+      ret.add(new CompactEnumStateImpl(this, s));
+    }
+    return ret;
+  }
+
+  @Override
+  public Vector<? extends EnumStateI> enumController(StateI st) {
+    return enumController();
+  }
+
+  @Override
+  public int numOfTransitions() {
+    return this.numTransitions;
+  }
+
+  @Override
+  public int lenLongestShortestPath() {
+    return this.lenLongestShortestPath;
+  }
+
+  @Override
+  public int maxNumOutEdgesPerState() {
+    return this.maxNumOutEdgesPerState;
+  }
+
+  @Override
+  public int maxNumInEdgesPerState() {
+    return this.maxNumInEdgesPerState;
+  }
+
+  @Override
+  public boolean isCalcStats() {
+    return this.calcLenLongestShortestPath;
+  }
+
+  // ////////////////////////////////////////////////////////////////////////
+  // access for the state views
+
+  BDD getData(int s) {
+    if (stateData == null) {
+      stateData = new BDD[Math.max(16, numStates)];
+    } else if (s >= stateData.length) {
+      stateData = Arrays.copyOf(stateData, Math.max(2 * stateData.length, numStates));
+    }
+    if (stateData[s] == null) {
+      stateData[s] = decode(s);
+    }
+    return stateData[s];
+  }
+
+  boolean isInitial(int s) {
+    return initial.get(s);
+  }
+
+  AbstractRankInfo getRankInfo(int s) {
+    return ranks.get(stateRank[s]);
+  }
+
+  int getNumInEdges(int s) {
+    return numInEdges[s];
+  }
+
+  int getNumOutEdges(int s) {
+    return numOutEdges[s];
+  }
+
+  int getDistFromIni(int s) {
+    return distFromIni[s];
+  }
+
+  void incNumInEdges(int s) {
+    numInEdges[s]++;
+  }
+
+  void incNumOutEdges(int s) {
+    numOutEdges[s]++;
+  }
+
+  boolean updateDistFromIni(int s, int neighborDist) {
+    if (initial.get(s)) {
+      return false;
+    }
+    if (distFromIni[s] == 0 || distFromIni[s] > neighborDist + 1) {
+      distFromIni[s] = neighborDist + 1;
+      return true;
+    }
+    return false;
+  }
+
+  Vector<EnumStateI> getSuccessors(int s) {
+    Vector<EnumStateI> ret = new Vector<EnumStateI>();
+    if (finished) {
+      for (int k = succOffsets[s]; k < succOffsets[s + 1]; k++) {
+        ret.add(new CompactEnumStateImpl(this, succTargets[k]));
+      }
+    } else {
+      for (int e = firstEdge[s]; e != -1; e = edgeNext[e]) {
+        ret.add(new CompactEnumStateImpl(this, edgeTo[e]));
+      }
+    }
+    return ret;
+  }
+
+  void addEdge(int from, int to) throws GamesStrategyException {
+    checkNotFinished();
+    if (streamPrinter != null) {
+      streamPrinter.printTransition(new CompactEnumStateImpl(this, from), new CompactEnumStateImpl(this, to));
+    }
+    if (!storeTransitions) {
+      return;
+    }
+    if (numEdges == edgeTo.length) {
+      edgeTo = Arrays.copyOf(edgeTo, 2 * numEdges);
+      edgeNext = Arrays.copyOf(edgeNext, 2 * numEdges);
+    }
+    edgeTo[numEdges] = to;
+    edgeNext[numEdges] = -1;
+    if (firstEdge[from] == -1) {
+      firstEdge[from] = numEdges;
+    } else {
+      edgeNext[lastEdge[from]] = numEdges;
+    }
+    lastEdge[from] = numEdges;
+    numEdges++;
+  }
+
+  // ////////////////////////////////////////////////////////////////////////
+  // internals
+
+  private void checkNotFinished() throws GamesStrategyException {
+    if (finished) {
+      throw new GamesStrategyException("Cannot add states or transitions to a finished strategy");
+    }
+  }
+
+  private int stateId(EnumStateI s) throws GamesStrategyException {
+    if (!(s instanceof CompactEnumStateImpl) || s.getHolder() != this) {
+      throw new GamesStrategyException("Cannot use a state of a different strategy");
+    }
+    return s.getStateId();
+  }
+
+  private int rankId(AbstractRankInfo rank) {
+    Integer r = rankIds.get(rank);
+    if (r == null) {
+      r = ranks.size();
+      ranks.add(rank);
+      rankIds.put(rank, r);
+      statesOfRank.add(Env.FALSE());
+      if (r == statesOfRankUpTo.length) {
+        statesOfRankUpTo = Arrays.copyOf(statesOfRankUpTo, 2 * r);
+      }
+    }
+    return r;
+  }
+
+  /**
+   * creates a new state (the state must not exist already)
+   *
+   * @return id of the new state
+   */
+  private int addState(long[] bits, int rank, boolean ini) {
+    if (numStates == stateRank.length) {
+      int cap = 2 * numStates;
+      stateBits = Arrays.copyOf(stateBits, cap * words);
+      stateRank = Arrays.copyOf(stateRank, cap);
+      numInEdges = Arrays.copyOf(numInEdges, cap);
+      numOutEdges = Arrays.copyOf(numOutEdges, cap);
+      distFromIni = Arrays.copyOf(distFromIni, cap);
+      firstEdge = Arrays.copyOf(firstEdge, cap);
+      lastEdge = Arrays.copyOf(lastEdge, cap);
+    }
+    int s = numStates++;
+    System.arraycopy(bits, 0, stateBits, s * words, words);
+    stateRank[s] = rank;
+    if (ini) {
+      initial.set(s);
+    }
+    firstEdge[s] = -1;
+    lastEdge[s] = -1;
+
+    if (2 * numStates > table.length) {
+      rehash(2 * table.length);
+    } else {
+      insert(s);
+    }
+    if (streamPrinter != null) {
+      BDD data = decode(s);
+      streamPrinter.printState(new CompactEnumStateImpl(this, s), data);
+      data.free();
+    }
+    return s;
+  }
+
+  /**
+   * lookup a state we already created
+   *
+   * @return -1 if state is not found
+   */
+  private int lookUpState(long[] bits, int rank) {
+    int mask = table.length - 1;
+    for (int i = hash(bits, 0, rank) & mask; table[i] != 0; i = (i + 1) & mask) {
+      int s = table[i] - 1;
+      if (stateRank[s] == rank && sameBits(bits, s)) {
+        return s;
+      }
+    }
+    return -1;
+  }
+
+  private void insert(int s) {
+    int mask = table.length - 1;
+    int i = hash(stateBits, s * words, stateRank[s]) & mask;
+    while (table[i] != 0) {
+      i = (i + 1) & mask;
+    }
+    table[i] = s + 1;
+  }
+
+  private void rehash(int size) {
+    table = new int[size];
+    for (int s = 0; s < numStates; s++) {
+      insert(s);
+    }
+  }
+
+  private int hash(long[] bits, int offset, int rank) {
+    long h = rank * HASH_MULT;
+    for (int w = 0; w < words; w++) {
+      h = (h ^ bits[offset + w]) * HASH_MULT;
+    }
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private boolean sameBits(long[] bits, int s) {
+    int offset = s * words;
+    for (int w = 0; w < words; w++) {
+      if (bits[w] != stateBits[offset + w]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * packs the assignment of a state into a bit vector
+   *
+   * @param state a full assignment to the variables of the strategy
+   * @return
+   * @throws GamesStrategyException if state is not a full assignment
+   */
+  private long[] encode(BDD state) throws GamesStrategyException {
+    long[] bits = new long[words];
+    int assigned = 0;
+    BDD b = state.id();
+    while (!b.isOne()) {
+      if (b.isZero() || b.var() >= varPos.length || varPos[b.var()] < 0) {
+        b.free();
+        throw new GamesStrategyException("State is not an assignment to the variables of the strategy");
+      }
+      int pos = varPos[b.var()];
+      BDD low = b.low();
+      BDD high = b.high();
+      BDD next;
+      if (low.isZero()) {
+        bits[pos >>> 6] |= 1L << (pos & 63);
+        next = high;
+        low.free();
+      } else if (high.isZero()) {
+        next = low;
+        high.free();
+      } else {
+        low.free();
+        high.free();
+        b.free();
+        throw new GamesStrategyException("State is not a single assignment");
+      }
+      b.free();
+      b = next;
+      assigned++;
+    }
+    b.free();
+    if (assigned != vars.length) {
+      throw new GamesStrategyException("State does not assign all variables of the strategy");
+    }
+    return bits;
+  }
+
+  /**
+   * @param s
+   * @return a new BDD of the assignment of state s
+   */
+  private BDD decode(int s) {
+    int offset = s * words;
+    BDD res = Env.TRUE();
+    for (int p = vars.length - 1; p >= 0; p--) {
+      if ((stateBits[offset + (p >>> 6)] & (1L << (p & 63))) != 0) {
+        res.andWith(factory.ithVar(vars[p]));
+      } else {
+        res.andWith(factory.nithVar(vars[p]));
+      }
+    }
+    return res;
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.controller.enumerate.printers;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.games.controller.enumerate.EnumStateI;
+
+/**
+ * streams states and transitions as a binary edge list
+ * 
+ * The format is a header (magic number and version) followed by records:
+ * <ul>
+ * <li>state: {@link #STATE}, id (int), initial (byte), rank memory value (int),
+ * number of assigned variables n (int) and n literals (int), where literal v
+ * means that BDD variable v is true and -v-1 that it is false</li>
+ * <li>transition: {@link #TRANSITION}, source id (int), target id (int)</li>
+ * <li>{@link #END} after the last record</li>
+ * </ul>
+ */
+public class StreamingBinaryEdgeListPrinter implements EnumStrategyStreamPrinter {
+
+  public static final int MAGIC = 0x53434547;
+  public static final int VERSION = 1;
+
+  public static final byte STATE = 1;
+  public static final byte TRANSITION = 2;
+  public static final byte END = 0;
+
+  private DataOutputStream out;
+
+  public StreamingBinaryEdgeListPrinter(OutputStream out) {
+    this.out = new DataOutputStream(out);
+  }
+
+  @Override
+  public void begin() {
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void printState(EnumStateI s, BDD data) {
+    int[] lits = literals(data);
+    try {
+      out.writeByte(STATE);
+      out.writeInt(s.getStateId());
+      out.writeByte(s.isInitial() ? 1 : 0);
+      out.writeInt(s.get_rank_info().memVal());
+      out.writeInt(lits.length);
+      for (int l : lits) {
+        out.writeInt(l);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void printTransition(EnumStateI from, EnumStateI to) {
+    try {
+      out.writeByte(TRANSITION);
+      out.writeInt(from.getStateId());
+      out.writeInt(to.getStateId());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void end() {
+    try {
+      out.writeByte(END);
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * literals along the path to TRUE of a state (cube)
+   * 
+   * @param state
+   * @return
+   */
+  private int[] literals(BDD state) {
+    int[] lits = new int[state.getFactory().varNum()];
+    int n = 0;
+    BDD b = state.id();
+    while (!b.isOne() && !b.isZero()) {
+      int v = b.var();
+      BDD low = b.low();
+      BDD next;
+      if (low.isZero()) {
+        lits[n++] = v;
+        next = b.high();
+        low.free();
+      } else {
+        lits[n++] = -v - 1;
+        next = low;
+      }
+      b.free();
+      b = next;
+    }
+    b.free();
+    int[] res = new int[n];
+    System.arraycopy(lits, 0, res, 0, n);
+    return res;
+  }
+
+}
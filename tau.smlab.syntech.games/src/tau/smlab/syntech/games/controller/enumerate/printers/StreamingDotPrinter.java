@@ -0,0 +1,71 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab 
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR 
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE 
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT 
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+*/
+
+package tau.smlab.syntech.games.controller.enumerate.printers;
+
+import java.io.PrintStream;
+
+import net.sf.javabdd.BDD;
+import tau.smlab.syntech.games.controller.enumerate.EnumStateI;
+import tau.smlab.syntech.jtlv.Env;
+
+/**
+ * streams states and transitions as a graph in DOT format
+ */
+public class StreamingDotPrinter implements EnumStrategyStreamPrinter {
+
+  private PrintStream out;
+
+  public StreamingDotPrinter(PrintStream out) {
+    this.out = out;
+  }
+
+  @Override
+  public void begin() {
+    out.println("digraph controller {");
+  }
+
+  @Override
+  public void printState(EnumStateI s, BDD data) {
+    String label = data.toStringWithDomains(Env.stringer).replace("\\", "\\\\").replace("\"", "\\\"");
+    out.println("  s" + s.getStateId() + " [label=\"" + label + "\""
+        + (s.isInitial() ? ", shape=doublecircle" : "") + "];");
+  }
+
+  @Override
+  public void printTransition(EnumStateI from, EnumStateI to) {
+    out.println("  s" + from.getStateId() + " -> s" + to.getStateId() + ";");
+  }
+
+  @Override
+  public void end() {
+    out.println("}");
+    out.flush();
+  }
+
+}
@@ -32,7 +32,6 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 import net.sf.javabdd.ADD;
 import net.sf.javabdd.BDD;
-import net.sf.javabdd.BDD.BDDIterator;
 import net.sf.javabdd.BDDFactory;
 import tau.smlab.syntech.gameinput.spec.Operator;
 import tau.smlab.syntech.gameinput.spec.Spec;
@@ -40,6 +39,7 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 import tau.smlab.syntech.gameinput.spec.SpecExp;
 import tau.smlab.syntech.gamemodel.GameModel;
 import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.jtlv.CoreUtil;
 import tau.smlab.syntech.jtlv.Env;
 import tau.smlab.syntech.modelchecker.LTLModelChecker;
 
@@ -65,32 +65,37 @@ public static boolean checkCompletenessForEnvIterate(SymbolicController ctrl, Ga
 		// for all next assignments to environment variables
 		BDD reachable = Env.allSucc(ctrl.initial().id(), ctrl.trans().id());
 
-		for (BDDIterator sit = reachable.iterator(Env.globalUnprimeVars()); sit.hasNext();) {
-			BDD s = sit.nextBDD();
-			BDD ctrlSucc = s.and(ctrl.trans());
-			BDD envSucc = s.and(env.trans());
-			BDD envChoices = envSucc.exist(sys.modulePrimeVars());
-			envSucc.free();
-			BDD ctrlEnvChoices = ctrlSucc.exist(sys.modulePrimeVars());
-			ctrlSucc.free();
-			BDD envNotCovered = envChoices.andWith(ctrlEnvChoices.not());
-			if (!envNotCovered.isZero()) {
-				System.out.println("State " + Env.toNiceSignleLineString(s));
-				System.out.println("Successors in Controller: "
-						+ Env.toNiceSignleLineString(ctrlEnvChoices.exist(Env.globalUnprimeVars())));
-				System.out.println("EnvSuccessors not in Controller: "
-						+ Env.toNiceSignleLineString(envNotCovered.exist(Env.globalUnprimeVars())));
-				s.free();
-				envNotCovered.free();
-				ctrlEnvChoices.free();
-				return false;
-			}
-			s.free();
-			envNotCovered.free();
-			ctrlEnvChoices.free();
+		// compute all reachable states that are not complete in one symbolic step
+		// and only enumerate concrete states from this set for the debug output
+		BDD envChoicesAll = reachable.and(env.trans()).exist(sys.modulePrimeVars());
+		reachable.free();
+		BDD ctrlEnvChoicesAll = ctrl.trans().exist(sys.modulePrimeVars());
+		BDD violating = envChoicesAll.andWith(ctrlEnvChoicesAll.not()).exist(Env.globalPrimeVars());
+		ctrlEnvChoicesAll.free();
+
+		if (violating.isZero()) {
+			violating.free();
+			return true;
 		}
 
-		return true;
+		BDD s = CoreUtil.satOne(violating, Env.globalUnprimeVars());
+		violating.free();
+		BDD ctrlSucc = s.and(ctrl.trans());
+		BDD envSucc = s.and(env.trans());
+		BDD envChoices = envSucc.exist(sys.modulePrimeVars());
+		envSucc.free();
+		BDD ctrlEnvChoices = ctrlSucc.exist(sys.modulePrimeVars());
+		ctrlSucc.free();
+		BDD envNotCovered = envChoices.andWith(ctrlEnvChoices.not());
+		System.out.println("State " + Env.toNiceSignleLineString(s));
+		System.out.println("Successors in Controller: "
+				+ Env.toNiceSignleLineString(ctrlEnvChoices.exist(Env.globalUnprimeVars())));
+		System.out.println("EnvSuccessors not in Controller: "
+				+ Env.toNiceSignleLineString(envNotCovered.exist(Env.globalUnprimeVars())));
+		s.free();
+		envNotCovered.free();
+		ctrlEnvChoices.free();
+		return false;
 	}
 
 	/**
@@ -0,0 +1,250 @@
+/*
+Copyright (c) since 2015, Tel Aviv University and Software Modeling Lab
+
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * Neither the name of Tel Aviv University and Software Modeling Lab nor the
+      names of its contributors may be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL Tel Aviv University and Software Modeling Lab
+BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package tau.smlab.syntech.games.controller.symbolic;
+
+import net.sf.javabdd.BDD;
+import net.sf.javabdd.BDDVarSet;
+import tau.smlab.syntech.gamemodel.GameModel;
+import tau.smlab.syntech.gamemodel.PlayerModule;
+import tau.smlab.syntech.jtlv.Env;
+
+/**
+ * Runs a batch of randomized environment traces against a symbolic controller.
+ *
+ * Inputs are drawn with {@link Env#randomSat(BDD, BDDVarSet)}. Every trace stops
+ * after a given number of steps or as soon as it gets stuck. The simulator
+ * reports the throughput together with the number of deadlocks and violations
+ * it has observed.
+ *
+ * Traces run one after the other, see {@link Env}.
+ *
+ */
+public class SymbolicControllerSimulator {
+
+	private SymbolicController ctrl;
+	private GameModel model;
+
+	/**
+	 * if set, inputs are drawn from all assignments to the environment variables
+	 * and not only from the ones allowed by the environment transitions
+	 */
+	private boolean violateAssumptions = false;
+
+	public SymbolicControllerSimulator(SymbolicController ctrl, GameModel model) {
+		this.ctrl = ctrl;
+		this.model = model;
+	}
+
+	public void setViolateAssumptions(boolean violateAssumptions) {
+		this.violateAssumptions = violateAssumptions;
+	}
+
+	/**
+	 * simulate a batch of random traces
+	 *
+	 * @param traces   number of traces
+	 * @param maxSteps maximal length of every trace
+	 * @return statistics of the batch
+	 */
+	public SimulationResult simulate(int traces, int maxSteps) {
+		SimulationResult res = new SimulationResult();
+		long start = System.currentTimeMillis();
+		for (int t = 0; t < traces; t++) {
+			simulateTrace(maxSteps, res);
+			res.traces++;
+		}
+		res.time = System.currentTimeMillis() - start;
+		return res;
+	}
+
+	/**
+	 * simulate a single trace and add its outcome to the result
+	 *
+	 * @param maxSteps
+	 * @param res
+	 */
+	private void simulateTrace(int maxSteps, SimulationResult res) {
+		PlayerModule env = model.getEnv();
+		PlayerModule sys = model.getSys();
+
+		// 1) pick initial inputs and a corresponding initial controller state
+		BDD iniChoices = violateAssumptions ? Env.TRUE() : env.initial().id();
+		BDD envIni = Env.randomSat(iniChoices, env.moduleUnprimeVars());
+		iniChoices.free();
+		if (envIni.isZero()) {
+			res.envDeadlocks++;
+			envIni.free();
+			return;
+		}
+		if (violateAssumptions && !intersects(envIni, env.initial())) {
+			res.assumptionViolations++;
+			envIni.free();
+			return;
+		}
+		BDD ctrlIni = ctrl.initial().and(envIni);
+		envIni.free();
+		BDD state = Env.randomSat(ctrlIni, Env.globalUnprimeVars());
+		ctrlIni.free();
+		if (state.isZero()) {
+			res.sysDeadlocks++;
+			state.free();
+			return;
+		}
+		if (!intersects(state, sys.initial())) {
+			res.guaranteeViolations++;
+		}
+
+		// 2) step the controller with random inputs
+		for (int i = 0; i < maxSteps; i++) {
+			BDD envChoices;
+			if (violateAssumptions) {
+				envChoices = Env.TRUE();
+			} else {
+				envChoices = env.trans().and(state).exist(Env.globalUnprimeVars());
+			}
+			if (envChoices.isZero()) {
+				res.envDeadlocks++;
+				envChoices.free();
+				break;
+			}
+			BDD inputs = Env.randomSat(envChoices, env.modulePrimeVars());
+			envChoices.free();
+
+			BDD step = state.and(inputs);
+			if (violateAssumptions && !intersects(step, env.trans())) {
+				res.assumptionViolations++;
+				step.free();
+				inputs.free();
+				break;
+			}
+			inputs.free();
+
+			BDD ctrlSucc = step.and(ctrl.trans());
+			step.free();
+			BDD next = Env.randomSat(ctrlSucc, Env.globalPrimeVars());
+			ctrlSucc.free();
+			if (next.isZero()) {
+				res.sysDeadlocks++;
+				next.free();
+				break;
+			}
+			BDD transition = next.and(state);
+			if (!intersects(transition, sys.trans())) {
+				res.guaranteeViolations++;
+			}
+			transition.free();
+			res.steps++;
+
+			state.free();
+			state = Env.unprime(next);
+			next.free();
+		}
+		state.free();
+	}
+
+	private static boolean intersects(BDD a, BDD b) {
+		BDD both = a.and(b);
+		boolean res = !both.isZero();
+		both.free();
+		return res;
+	}
+
+	/**
+	 * statistics collected by a batch of simulated traces
+	 */
+	public static class SimulationResult {
+		private int traces;
+		private long steps;
+		private long time;
+		private int envDeadlocks;
+		private int sysDeadlocks;
+		private int assumptionViolations;
+		private int guaranteeViolations;
+
+		public int getTraces() {
+			return traces;
+		}
+
+		public long getSteps() {
+			return steps;
+		}
+
+		/**
+		 * @return simulation time in ms
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		/**
+		 * @return number of traces where the environment had no valid input left
+		 */
+		public int getEnvDeadlocks() {
+			return envDeadlocks;
+		}
+
+		/**
+		 * @return number of traces where the controller had no successor for a valid
+		 *         input
+		 */
+		public int getSysDeadlocks() {
+			return sysDeadlocks;
+		}
+
+		public int getAssumptionViolations() {
+			return assumptionViolations;
+		}
+
+		public int getGuaranteeViolations() {
+			return guaranteeViolations;
+		}
+
+		public double getStepsPerSecond() {
+			return time == 0 ? steps * 1000.0 : steps * 1000.0 / time;
+		}
+
+		/**
+		 * @return true if no trace revealed an error of the controller
+		 */
+		public boolean passed() {
+			return sysDeadlocks == 0 && guaranteeViolations == 0;
+		}
+
+		@Override
+		public String toString() {
+			String ret = "Simulated " + traces + " traces with " + steps + " steps in " + time + "ms";
+			ret += " (" + String.format("%.1f", getStepsPerSecond()) + " steps/s)\n";
+			ret += "Environment deadlocks: " + envDeadlocks + "\n";
+			ret += "Assumption violations: " + assumptionViolations + "\n";
+			ret += "Controller deadlocks: " + sysDeadlocks + "\n";
+			ret += "Guarantee violations: " + guaranteeViolations;
+			return ret;
+		}
+	}
+}
@@ -29,11 +29,61 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 package tau.smlab.syntech.games.util;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 public abstract class AbstractDdmin<T> {
 
 	static public boolean USE_NEGATIVE_SETS_LIST = true;
+	/**
+	 * remember the results of all checks and answer checks of subsets and
+	 * supersets by monotonicity
+	 */
+	static public boolean USE_MEMO = true;
+
+  /**
+   * algorithms to find a minimal part that satisfies the criterion
+   */
+  public enum Strategy {
+    /**
+     * delta debugging (splits into parts of increasing granularity)
+     */
+    DDMIN,
+    /**
+     * QuickXplain (divide and conquer, few checks for small cores)
+     */
+    QUICKXPLAIN,
+    /**
+     * adds core elements one by one, each found by exponential and binary search
+     * over the remaining elements
+     */
+    PROGRESSION,
+    /**
+     * removes one element at a time
+     */
+    LINEAR
+  }
+
+  // index of every element for the bitset encoding of parts
+  private Map<T, Integer> memoIndex = new HashMap<>();
+  // minimal sets known to satisfy the criterion
+  private SetIndex posMemo = new SetIndex();
+  // maximal sets known to not satisfy the criterion
+  private SetIndex negMemo = new SetIndex();
+  // negSets already added to negMemo
+  private List<List<T>> syncedNegSets;
+  private int syncedNegSetsNum;
+
+  private int solverChecks;
+  private int savedChecks;
+
+  private Strategy strategy = Strategy.DDMIN;
+  // elements are not disposed while benchmarking (they are minimized repeatedly)
+  private boolean benchmarking = false;
+
   /**
    * recursively minimize the set elements to a local minimum that still passes the check
    * 
@@ -45,11 +95,138 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
    * @throws AbstractGamesException
    */
   public List<T> minimize(List<T> elements) {
-    return ddminDo(elements, 2, new ArrayList<List<T>>());
+    return minimize(elements, new ArrayList<List<T>>());
   }
 
   public List<T> minimize(List<T> elements, List<List<T>> negSets) {
-    return ddminDo(elements, 2, negSets);
+    resetMemo();
+    List<T> res;
+    switch (getStrategy()) {
+    case QUICKXPLAIN:
+      res = quickXplainDo(elements, negSets);
+      break;
+    case PROGRESSION:
+      res = progression(elements, negSets);
+      break;
+    case LINEAR:
+      res = linear(elements, negSets);
+      break;
+    default:
+      res = ddminDo(elements, 2, negSets);
+      break;
+    }
+    return res;
+  }
+
+  public Strategy getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * @param strategy
+   *          strategy used by {@link #minimize(List, List)} (default is
+   *          {@link Strategy#DDMIN})
+   */
+  public void setStrategy(Strategy strategy) {
+    this.strategy = strategy;
+  }
+
+  /**
+   * minimize the same elements once with every strategy and report the number of
+   * checks and the time of each run
+   * 
+   * Elements are not disposed during the runs.
+   * 
+   * @param elements
+   * @param strategies
+   *          strategies to compare (all if none are given)
+   * @return one result per strategy
+   */
+  public List<BenchmarkResult> benchmark(List<T> elements, Strategy... strategies) {
+    if (strategies.length == 0) {
+      strategies = Strategy.values();
+    }
+    Strategy prevStrategy = strategy;
+    benchmarking = true;
+    List<BenchmarkResult> results = new ArrayList<>();
+    try {
+      for (Strategy s : strategies) {
+        strategy = s;
+        long start = System.currentTimeMillis();
+        List<T> core = minimize(new ArrayList<>(elements));
+        BenchmarkResult res = new BenchmarkResult(s, core.size(), solverChecks, savedChecks,
+            System.currentTimeMillis() - start);
+        results.add(res);
+      }
+    } finally {
+      strategy = prevStrategy;
+      benchmarking = false;
+    }
+    return results;
+  }
+
+  /**
+   * result of minimizing with one strategy
+   */
+  public static class BenchmarkResult {
+    private Strategy strategy;
+    private int coreSize;
+    private int solverChecks;
+    private int savedChecks;
+    private long time;
+
+    public BenchmarkResult(Strategy strategy, int coreSize, int solverChecks, int savedChecks, long time) {
+      this.strategy = strategy;
+      this.coreSize = coreSize;
+      this.solverChecks = solverChecks;
+      this.savedChecks = savedChecks;
+      this.time = time;
+    }
+
+    public Strategy getStrategy() {
+      return strategy;
+    }
+
+    public int getCoreSize() {
+      return coreSize;
+    }
+
+    public int getSolverChecks() {
+      return solverChecks;
+    }
+
+    public int getSavedChecks() {
+      return savedChecks;
+    }
+
+    /**
+     * @return time in ms
+     */
+    public long getTime() {
+      return time;
+    }
+
+    @Override
+    public String toString() {
+      return strategy + ": core of " + coreSize + " elements, " + solverChecks + " checks (" + savedChecks
+          + " saved) in " + time + "ms";
+    }
+  }
+
+  /**
+   * @return number of checks that were answered by calling {@link #check(List)}
+   *         in the last minimization
+   */
+  public int getSolverChecks() {
+    return solverChecks;
+  }
+
+  /**
+   * @return number of checks that were answered from memoized results in the
+   *         last minimization
+   */
+  public int getSavedChecks() {
+    return savedChecks;
   }
   
   /**
@@ -66,7 +243,7 @@ private List<T> ddminDo(List<T> elements, int n, List<List<T>> negSets) {
     List<T> min = ddmin(elements, n, negSets);
     // if input size equals output size check property to be sure
     if (min.size() == elements.size()) {
-      if (!check(min)) {
+      if (!checkMemo(min)) {
         return new ArrayList<>();
       }
     }
@@ -83,7 +260,7 @@ protected List<T> ddmin(List<T> elements, int n, List<List<T>> negSets) {
     }
 
     if (numElem == 1 || n < 2) {
-      if (numElem == 1 && check(new ArrayList<T>())) {
+      if (numElem == 1 && checkMemo(new ArrayList<T>())) {
         return new ArrayList<T>();
       }
       return elements;
@@ -97,7 +274,7 @@ protected List<T> ddmin(List<T> elements, int n, List<List<T>> negSets) {
       if (check(part, negSets)) {
         List<T> remainder = new ArrayList<>(elements);
         remainder.removeAll(part);
-        dispose(remainder);
+        release(remainder);
         return ddmin(part, 2, negSets);
       }
     }
@@ -113,7 +290,7 @@ protected List<T> ddmin(List<T> elements, int n, List<List<T>> negSets) {
         if (check(part, negSets)) {
           List<T> remainder = new ArrayList<>(elements);
           remainder.removeAll(part);
-          dispose(remainder);
+          release(remainder);
           return ddmin(part, n - 1, negSets);
         }
       }
@@ -127,6 +304,163 @@ protected List<T> ddmin(List<T> elements, int n, List<List<T>> negSets) {
     return elements;
   }
 
+  /**
+   * QuickXplain: finds a minimal part by splitting the candidates in two halves
+   * and searching the core elements of the second half with the first half as
+   * background (and vice versa)
+   * 
+   * @param elements
+   * @param negSets
+   * @return minimal part that satisfies the criterion or empty list if elements
+   *         do not satisfy it
+   */
+  private List<T> quickXplainDo(List<T> elements, List<List<T>> negSets) {
+    if (!checkMemo(elements)) {
+      return new ArrayList<>();
+    }
+    List<T> core = quickXplain(new ArrayList<T>(), true, elements, negSets);
+    return keepOrder(elements, core);
+  }
+
+  /**
+   * @param background
+   *          elements that are part of every checked set
+   * @param changed
+   *          whether the background changed in the last step (otherwise it is
+   *          known to not satisfy the criterion)
+   * @param candidates
+   *          elements of which a minimal subset is added to the background
+   * @param negSets
+   * @return minimal subset of candidates such that with the background it
+   *         satisfies the criterion
+   */
+  private List<T> quickXplain(List<T> background, boolean changed, List<T> candidates, List<List<T>> negSets) {
+    if (changed) {
+      System.out.println("Checking: background of " + background.size() + " elements");
+      if (check(background, negSets)) {
+        return new ArrayList<>();
+      }
+    }
+    if (candidates.size() <= 1) {
+      return new ArrayList<>(candidates);
+    }
+    int half = candidates.size() / 2;
+    List<T> first = new ArrayList<>(candidates.subList(0, half));
+    List<T> second = new ArrayList<>(candidates.subList(half, candidates.size()));
+
+    List<T> withFirst = new ArrayList<>(background);
+    withFirst.addAll(first);
+    List<T> coreSecond = quickXplain(withFirst, !first.isEmpty(), second, negSets);
+
+    List<T> withCoreSecond = new ArrayList<>(background);
+    withCoreSecond.addAll(coreSecond);
+    List<T> coreFirst = quickXplain(withCoreSecond, !coreSecond.isEmpty(), first, negSets);
+
+    coreFirst.addAll(coreSecond);
+    return coreFirst;
+  }
+
+  /**
+   * progression: finds core elements one by one. The next core element is the
+   * last element of the shortest prefix of the remaining elements that
+   * satisfies the criterion together with the core found so far. The prefix is
+   * found by doubling its length and then by binary search.
+   * 
+   * @param elements
+   * @param negSets
+   * @return minimal part that satisfies the criterion or empty list if elements
+   *         do not satisfy it
+   */
+  private List<T> progression(List<T> elements, List<List<T>> negSets) {
+    if (!checkMemo(elements)) {
+      return new ArrayList<>();
+    }
+    List<T> core = new ArrayList<>();
+    List<T> rest = new ArrayList<>(elements);
+    // invariant: core and rest together satisfy the criterion
+    while (!rest.isEmpty()) {
+      System.out.println("Checking: core of " + core.size() + " elements");
+      if (check(core, negSets)) {
+        break;
+      }
+      // core with the prefix of length hi satisfies criterion, with length lo not
+      int lo = 0;
+      int hi = 1;
+      while (hi < rest.size() && !check(withPrefix(core, rest, hi), negSets)) {
+        lo = hi;
+        hi = Math.min(2 * hi, rest.size());
+      }
+      while (hi - lo > 1) {
+        int mid = (lo + hi) / 2;
+        if (check(withPrefix(core, rest, mid), negSets)) {
+          hi = mid;
+        } else {
+          lo = mid;
+        }
+      }
+      core.add(rest.get(hi - 1));
+      rest = new ArrayList<>(rest.subList(0, hi - 1));
+    }
+    return keepOrder(elements, core);
+  }
+
+  private List<T> withPrefix(List<T> core, List<T> rest, int length) {
+    List<T> part = new ArrayList<>(core);
+    part.addAll(rest.subList(0, length));
+    System.out.println("Checking: core of " + core.size() + " elements and " + length + " more elements");
+    return part;
+  }
+
+  /**
+   * removes one element at a time and keeps it removed if the rest still
+   * satisfies the criterion
+   * 
+   * @param elements
+   * @param negSets
+   * @return minimal part that satisfies the criterion or empty list if elements
+   *         do not satisfy it
+   */
+  private List<T> linear(List<T> elements, List<List<T>> negSets) {
+    if (!checkMemo(elements)) {
+      return new ArrayList<>();
+    }
+    List<T> core = new ArrayList<>(elements);
+    for (T e : elements) {
+      List<T> part = new ArrayList<>(core);
+      part.remove(e);
+      System.out.println("Checking: without " + e + ", " + part.size() + " elements");
+      if (check(part, negSets)) {
+        core = part;
+      }
+    }
+    return keepOrder(elements, core);
+  }
+
+  /**
+   * @param elements
+   * @param core
+   * @return core in the order of elements (all other elements are released)
+   */
+  private List<T> keepOrder(List<T> elements, List<T> core) {
+    List<T> res = new ArrayList<>();
+    List<T> remainder = new ArrayList<>();
+    for (T e : elements) {
+      if (core.contains(e)) {
+        res.add(e);
+      } else {
+        remainder.add(e);
+      }
+    }
+    release(remainder);
+    return res;
+  }
+
+  private void release(List<T> elements) {
+    if (!benchmarking) {
+      dispose(elements);
+    }
+  }
+
   /**
    * elements that will not be part of the core
    * @param elements
@@ -144,6 +478,26 @@ protected void dispose(List<T> elements) {
    */
   protected boolean check(List<T> part, List<List<T>> negSets) {
 
+    checkCancelled();
+    if (useMemo()) {
+      syncNegSets(negSets);
+      BitSet bits = toBits(part);
+      Boolean known = lookUpMemo(bits);
+      if (known != null) {
+        System.out.println("check: return " + known + " - known by monotonicity");
+        savedChecks++;
+        return known;
+      }
+      solverChecks++;
+      boolean res = check(part);
+      memorize(bits, res);
+      if (!res && USE_NEGATIVE_SETS_LIST) {
+        negSets.add(part);
+        syncedNegSetsNum++;
+      }
+      return res;
+    }
+
   	int setNum = 1; 
     for (List<T> supset : negSets) {
       if (supset.containsAll(part)) {
@@ -153,6 +507,7 @@ protected boolean check(List<T> part, List<List<T>> negSets) {
       setNum++;
     }
 
+    solverChecks++;
     if (check(part)) {
       return true;
     }
@@ -163,6 +518,192 @@ protected boolean check(List<T> part, List<List<T>> negSets) {
     return false;
   }
 
+  /**
+   * check of part that uses and updates the memoized results (but no negSets)
+   * 
+   * @param part
+   * @return true if part satisfies criterion
+   */
+  protected boolean checkMemo(List<T> part) {
+    checkCancelled();
+    if (!useMemo()) {
+      solverChecks++;
+      return check(part);
+    }
+    BitSet bits = toBits(part);
+    Boolean known = lookUpMemo(bits);
+    if (known != null) {
+      savedChecks++;
+      return known;
+    }
+    solverChecks++;
+    boolean res = check(part);
+    memorize(bits, res);
+    return res;
+  }
+
+  /**
+   * @return whether checks are answered from memoized results when possible
+   */
+  protected boolean useMemo() {
+    return USE_MEMO;
+  }
+
+  /**
+   * look up the result for a part by monotonicity: a superset of a set that
+   * satisfies the criterion satisfies it as well and a subset of a set that does
+   * not satisfy the criterion does not satisfy it either
+   * 
+   * @param bits
+   * @return the known result or null if unknown
+   */
+  private Boolean lookUpMemo(BitSet bits) {
+    if (!posMemo.subsetsOf(bits).isEmpty()) {
+      return true;
+    }
+    if (!negMemo.supersetsOf(bits).isEmpty()) {
+      return false;
+    }
+    return null;
+  }
+
+  /**
+   * remember the result of a check (sets implied by the new one are removed)
+   * 
+   * @param bits
+   * @param res
+   */
+  private void memorize(BitSet bits, boolean res) {
+    if (res) {
+      posMemo.remove(posMemo.supersetsOf(bits));
+      posMemo.add(bits);
+    } else {
+      negMemo.remove(negMemo.subsetsOf(bits));
+      negMemo.add(bits);
+    }
+  }
+
+  private BitSet toBits(List<T> part) {
+    BitSet bits = new BitSet();
+    for (T e : part) {
+      Integer i = memoIndex.get(e);
+      if (i == null) {
+        i = memoIndex.size();
+        memoIndex.put(e, i);
+      }
+      bits.set(i);
+    }
+    return bits;
+  }
+
+  /**
+   * cancellation point before every check: the minimization stops if the thread
+   * was interrupted
+   * 
+   * @throws CancellationException
+   */
+  protected void checkCancelled() {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("minimization was interrupted");
+    }
+  }
+
+  /**
+   * add sets of negSets to the memoized results that were not added yet (e.g.,
+   * when negSets were given to minimize)
+   * 
+   * @param negSets
+   */
+  private void syncNegSets(List<List<T>> negSets) {
+    if (negSets != syncedNegSets) {
+      syncedNegSets = negSets;
+      syncedNegSetsNum = 0;
+    }
+    while (syncedNegSetsNum < negSets.size()) {
+      memorize(toBits(negSets.get(syncedNegSetsNum++)), false);
+    }
+  }
+
+  private void resetMemo() {
+    memoIndex.clear();
+    posMemo.clear();
+    negMemo.clear();
+    syncedNegSets = null;
+    syncedNegSetsNum = 0;
+    solverChecks = 0;
+    savedChecks = 0;
+  }
+
+  /**
+   * Family of sets (bitsets of element indexes) with an inverted index from
+   * every element to the entries that contain it. Subset and superset queries
+   * combine the bitsets of the elements instead of comparing every entry.
+   */
+  private static class SetIndex {
+    // ids of the entries that contain each element
+    private List<BitSet> containing = new ArrayList<>();
+    // ids of the entries that were not removed
+    private BitSet alive = new BitSet();
+    private int entries = 0;
+    // result of the last query
+    private BitSet scratch = new BitSet();
+
+    void add(BitSet set) {
+      int id = entries++;
+      for (int e = set.nextSetBit(0); e >= 0; e = set.nextSetBit(e + 1)) {
+        while (containing.size() <= e) {
+          containing.add(new BitSet());
+        }
+        containing.get(e).set(id);
+      }
+      alive.set(id);
+    }
+
+    /**
+     * @param set
+     * @return ids of the entries that are subsets of set (valid until the next
+     *         query)
+     */
+    BitSet subsetsOf(BitSet set) {
+      scratch.clear();
+      scratch.or(alive);
+      for (int e = 0; e < containing.size() && !scratch.isEmpty(); e++) {
+        if (!set.get(e)) {
+          scratch.andNot(containing.get(e));
+        }
+      }
+      return scratch;
+    }
+
+    /**
+     * @param set
+     * @return ids of the entries that are supersets of set (valid until the next
+     *         query)
+     */
+    BitSet supersetsOf(BitSet set) {
+      scratch.clear();
+      scratch.or(alive);
+      for (int e = set.nextSetBit(0); e >= 0 && !scratch.isEmpty(); e = set.nextSetBit(e + 1)) {
+        if (e >= containing.size()) {
+          scratch.clear();
+        } else {
+          scratch.and(containing.get(e));
+        }
+      }
+      return scratch;
+    }
+
+    void remove(BitSet ids) {
+      alive.andNot(ids);
+    }
+
+    void clear() {
+      containing.clear();
+      alive.clear();
+      entries = 0;
+    }
+  }
+
   /**
    * check if part satisfies criterion, e.g., unsatisfiabiliy when looking for unsat core
    * 
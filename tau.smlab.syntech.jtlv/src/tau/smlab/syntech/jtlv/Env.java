@@ -69,6 +69,14 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
  * all fields).
  * </p>
  * 
+ * <p>
+ * Both managers are static, so there is one BDD factory per process. The
+ * factory is not thread-safe, and the game algorithms read their variables,
+ * primes and constants from Env. BDD computations therefore run on one thread
+ * at a time. Running checks or simulations in parallel needs one Env per
+ * worker process.
+ * </p>
+ * 
  * @version {@value edu.wis.jtlv.env.Env#version}
  * @author yaniv sa'ar.
  * 
@@ -30,10 +30,12 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -260,6 +262,12 @@ protected BaseSFA<T> buildDetAutomaton() {
 		}
 
 		// we have that copySfa is non-deterministic so we need to determinize it
+		if (this.psIterType == PowerSetIteratorType.MINTERMS) {
+			BaseSFA<T> deterministicAutomaton = this.buildDetAutomatonByMinterms(copySfa);
+			copySfa.free();
+			return deterministicAutomaton;
+		}
+
 		BaseSFA<T> deterministicAutomaton = this.newSfaInstance();
 
 		/*
@@ -438,6 +446,121 @@ protected BaseSFA<T> buildDetAutomaton() {
 		return deterministicAutomaton;
 	}
 
+	/**
+	 * Subset construction over the minterms of all guards of the given
+	 * (non-deterministic, epsilon free) automaton.
+	 * 
+	 * The minterms are computed once for the whole automaton. Every guard is a
+	 * disjunction of minterms, so the successors of a state under a minterm are
+	 * known without any further BDD operation, and the states of the DSFA are
+	 * subsets of state indices kept as bitsets. Unlike the iteration over subsets
+	 * of outgoing transitions, this is linear in the number of minterms for every
+	 * state of the DSFA.
+	 * 
+	 * @param sfa automaton without epsilon transitions and without dead states
+	 * @return a deterministic SFA that is equivalent to sfa
+	 */
+	private BaseSFA<T> buildDetAutomatonByMinterms(BaseSFA<T> sfa) {
+		List<T> states = sfa.reachableStates();
+		Map<T, Integer> stateIndices = new HashMap<>();
+		for (int i = 0; i < states.size(); ++i) {
+			stateIndices.put(states.get(i), i);
+		}
+
+		// split TRUE into the satisfiable minterms of all (distinct) guards
+		List<BDD> minterms = new ArrayList<>();
+		minterms.add(Env.TRUE());
+		Set<BDD> seenGuards = new HashSet<>();
+		for (T s : states) {
+			for (BDD guard : s.getSucc().values()) {
+				if (guard.isZero() || guard.isOne() || !seenGuards.add(guard)) {
+					continue;
+				}
+				List<BDD> refined = new ArrayList<>();
+				for (BDD m : minterms) {
+					BDD in = m.and(guard);
+					if (in.isZero()) {
+						in.free();
+						refined.add(m);
+						continue;
+					}
+					BDD out = m.id().andWith(guard.not());
+					if (out.isZero()) {
+						out.free();
+						in.free();
+						refined.add(m);
+						continue;
+					}
+					m.free();
+					refined.add(in);
+					refined.add(out);
+				}
+				minterms = refined;
+			}
+		}
+
+		// successors of every state under every minterm
+		BitSet[][] succ = new BitSet[states.size()][minterms.size()];
+		for (int i = 0; i < states.size(); ++i) {
+			for (Map.Entry<T, BDD> transition : states.get(i).getSucc().entrySet()) {
+				for (int m = 0; m < minterms.size(); ++m) {
+					BDD in = minterms.get(m).and(transition.getValue());
+					if (!in.isZero()) {
+						if (succ[i][m] == null) {
+							succ[i][m] = new BitSet(states.size());
+						}
+						succ[i][m].set(stateIndices.get(transition.getKey()));
+					}
+					in.free();
+				}
+			}
+		}
+
+		BaseSFA<T> deterministicAutomaton = this.newSfaInstance();
+		Map<BitSet, T> subsetsToDeterministicStatesMapping = new HashMap<>();
+		BitSet iniSubset = new BitSet(states.size());
+		iniSubset.set(stateIndices.get(sfa.ini));
+		T determinsticAutomatonInitialState = sfa.ini.cloneWithoutSucc();
+		subsetsToDeterministicStatesMapping.put(iniSubset, determinsticAutomatonInitialState);
+		deterministicAutomaton.setIni(determinsticAutomatonInitialState);
+
+		Queue<BitSet> worklist = new LinkedList<>();
+		worklist.add(iniSubset);
+		while (!worklist.isEmpty()) {
+			BitSet subset = worklist.remove();
+			T detCurrentState = subsetsToDeterministicStatesMapping.get(subset);
+			for (int m = 0; m < minterms.size(); ++m) {
+				BitSet succSubset = new BitSet(states.size());
+				for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+					if (succ[i][m] != null) {
+						succSubset.or(succ[i][m]);
+					}
+				}
+				if (succSubset.isEmpty()) {
+					continue;
+				}
+				T detSuccessorState = subsetsToDeterministicStatesMapping.get(succSubset);
+				if (detSuccessorState == null) {
+					boolean newDeterministicStateIsAccepting = false;
+					for (int i = succSubset.nextSetBit(0); i >= 0; i = succSubset.nextSetBit(i + 1)) {
+						if (states.get(i).isAccepting()) {
+							newDeterministicStateIsAccepting = true;
+							break;
+						}
+					}
+					detSuccessorState = this.newSfaState(newDeterministicStateIsAccepting);
+					subsetsToDeterministicStatesMapping.put(succSubset, detSuccessorState);
+					worklist.add(succSubset);
+				}
+				// guards of transitions to the same successor are joined by addTrans
+				detCurrentState.addTrans(minterms.get(m).id(), detSuccessorState);
+			}
+		}
+
+		Env.free(minterms);
+		return deterministicAutomaton;
+	}
+
 	@Override
 	public void completeTransitionFunction() {
 		// Create a black hole, sink state, from where we are stuck forever.
@@ -482,72 +605,13 @@ public BaseSFA<T> minimize() {
 		BaseSFA<T> deterministicAutomaton = this.determinize();
 		deterministicAutomaton.completeTransitionFunction();
 
-		// Moores minimization algorithm (a.k.a. the standard algorithm) lifted to SFAs
-		
-		// find all reachable states
+		// symbolic partition refinement (Hopcroft's algorithm lifted to SFAs)
 		List<T> reachableStates = deterministicAutomaton.reachableStates();
-
-		// remember each seen state's index in the seen list
-		Map<T, Integer> seenStatesIndices = new HashMap<>();
-		for (int i = 0; i < reachableStates.size(); ++i) {
-			seenStatesIndices.put(reachableStates.get(i), i);
-		}
-		
-		// initialize the equivalence relation E
-		Set<Pair<T, T>> e = new HashSet<>();
-		for (int i = 0; i < reachableStates.size(); ++i) {
-			for (int j = 0; j < i; ++j) {
-				T p = reachableStates.get(i);
-				T q = reachableStates.get(j);
-				if ((p.isAccepting() && q.isAccepting()) || (!p.isAccepting() && !q.isAccepting())) {
-					e.add(new Pair<T, T>(p, q));
-				}
-			}
-		}
-
-		// refine E
-		Set<Pair<T, T>> pairsToDelete = new HashSet<>();
-		while (true) {
-			for (Pair<T, T> pair : e) {
-				T p = pair.getLeft();
-				T q = pair.getRight();
-				for (Map.Entry<T, BDD> pTransition : p.getSucc().entrySet()) {
-					for (Map.Entry<T, BDD> qTransition : q.getSucc().entrySet()) {
-						T p1 = pTransition.getKey();
-						T q1 = qTransition.getKey();
-						if (!p1.equals(q1) && !e.contains(new Pair<T, T>(p1, q1))
-								&& !e.contains(new Pair<T, T>(q1, p1))) {	
-							BDD pTransitionBdd = pTransition.getValue();
-							BDD qTransitionBdd = qTransition.getValue();
-							BDD conjunctionBdd = pTransitionBdd.and(qTransitionBdd);
-							if(!conjunctionBdd.isZero()) {
-								pairsToDelete.add(pair);
-							}
-							conjunctionBdd.free();							
-						}
-					}
-				}
-			}
-
-			if (pairsToDelete.isEmpty()) {
-				// reached a fixed point!
-				break;
-			}
-
-			e.removeAll(pairsToDelete);
-			pairsToDelete.clear();
-		}
-
-		// compute E-equivalence classes using a union find data structure
-		QuickUnionPathCompressionUF unionFindDataStructure = new QuickUnionPathCompressionUF(reachableStates.size());
-		for (Pair<T, T> pair : e) {
-			unionFindDataStructure.union(seenStatesIndices.get(pair.getLeft()), seenStatesIndices.get(pair.getRight()));
-		}
+		Map<T, T> representatives = partitionRefinement(reachableStates);
 
 		// build the minimal automaton
 		Map<T, T> eClassReprStateToMinimalSfaStateMap = new HashMap<>();
-		T initialStateRepresentative = reachableStates
-				.get(unionFindDataStructure.find(seenStatesIndices.get(deterministicAutomaton.ini)));
+		T initialStateRepresentative = representatives.get(deterministicAutomaton.ini);
 		eClassReprStateToMinimalSfaStateMap.put(initialStateRepresentative,
 				initialStateRepresentative.cloneWithoutSucc());
 
@@ -557,8 +621,7 @@ public BaseSFA<T> minimize() {
 			T s = worklist.remove();
 			// add successors not checked yet
 			for (Map.Entry<T, BDD> transition : s.getSucc().entrySet()) {
-				T succStateRepresentative = reachableStates
-						.get(unionFindDataStructure.find(seenStatesIndices.get(transition.getKey())));
+				T succStateRepresentative = representatives.get(transition.getKey());
 				if (!eClassReprStateToMinimalSfaStateMap.containsKey(succStateRepresentative)) {
 					eClassReprStateToMinimalSfaStateMap.put(succStateRepresentative,
 							succStateRepresentative.cloneWithoutSucc());
@@ -575,6 +638,138 @@ public BaseSFA<T> minimize() {
 		return minimalAutomaton;
 	}
 
+	/**
+	 * Computes the language equivalence classes of the states of a complete
+	 * deterministic automaton by refining the partition into accepting and
+	 * non-accepting states.
+	 *
+	 * A block B splits another block C if the states of C move into B under
+	 * different guards. Guards are canonical BDDs, so the states of C are grouped
+	 * by the disjunction of their guards into B. As in Hopcroft's algorithm, only
+	 * the parts of a split block other than the largest one are added to the
+	 * worklist (the automaton is deterministic, so the guards into the largest
+	 * part are determined by the guards into the block and into the other parts).
+	 *
+	 * @param states all reachable states of a complete deterministic automaton
+	 * @return a map from every state to the representative of its class
+	 */
+	private Map<T, T> partitionRefinement(List<T> states) {
+		// predecessors of every state together with the guards leading to it
+		Map<T, Map<T, BDD>> pred = new HashMap<>();
+		for (T s : states) {
+			pred.put(s, new LinkedHashMap<>());
+		}
+		for (T s : states) {
+			for (Map.Entry<T, BDD> transition : s.getSucc().entrySet()) {
+				pred.get(transition.getKey()).put(s, transition.getValue());
+			}
+		}
+
+		// initial partition: accepting and non-accepting states
+		List<List<T>> blocks = new ArrayList<>();
+		Map<T, Integer> blockOf = new HashMap<>();
+		List<T> accepting = new ArrayList<>();
+		List<T> nonAccepting = new ArrayList<>();
+		for (T s : states) {
+			if (s.isAccepting()) {
+				accepting.add(s);
+			} else {
+				nonAccepting.add(s);
+			}
+		}
+		for (List<T> block : Arrays.asList(accepting, nonAccepting)) {
+			if (!block.isEmpty()) {
+				for (T s : block) {
+					blockOf.put(s, blocks.size());
+				}
+				blocks.add(block);
+			}
+		}
+
+		Queue<Integer> worklist = new LinkedList<>();
+		if (blocks.size() > 1) {
+			worklist.add(blocks.get(0).size() <= blocks.get(1).size() ? 0 : 1);
+		}
+
+		while (!worklist.isEmpty()) {
+			List<T> splitter = new ArrayList<>(blocks.get(worklist.remove()));
+
+			// guards from every state into the splitter
+			Map<T, BDD> guards = new LinkedHashMap<>();
+			for (T t : splitter) {
+				for (Map.Entry<T, BDD> p : pred.get(t).entrySet()) {
+					BDD g = guards.get(p.getKey());
+					if (g == null) {
+						guards.put(p.getKey(), p.getValue().id());
+					} else {
+						g.orWith(p.getValue().id());
+					}
+				}
+			}
+
+			Set<Integer> touched = new LinkedHashSet<>();
+			for (T s : guards.keySet()) {
+				touched.add(blockOf.get(s));
+			}
+
+			for (int b : touched) {
+				List<T> block = blocks.get(b);
+				if (block.size() == 1) {
+					continue;
+				}
+				// group the states of the block by their guard into the splitter
+				Map<BDD, List<T>> groups = new LinkedHashMap<>();
+				List<T> noGuard = new ArrayList<>();
+				for (T s : block) {
+					BDD g = guards.get(s);
+					if (g == null) {
+						noGuard.add(s);
+					} else {
+						groups.computeIfAbsent(g, k -> new ArrayList<>()).add(s);
+					}
+				}
+				List<List<T>> parts = new ArrayList<>(groups.values());
+				if (!noGuard.isEmpty()) {
+					parts.add(noGuard);
+				}
+				if (parts.size() == 1) {
+					continue;
+				}
+
+				// the largest part keeps the index (and a pending worklist entry) of the block
+				int largest = 0;
+				for (int i = 1; i < parts.size(); i++) {
+					if (parts.get(i).size() > parts.get(largest).size()) {
+						largest = i;
+					}
+				}
+				blocks.set(b, parts.get(largest));
+				for (int i = 0; i < parts.size(); i++) {
+					if (i != largest) {
+						int newBlock = blocks.size();
+						blocks.add(parts.get(i));
+						for (T s : parts.get(i)) {
+							blockOf.put(s, newBlock);
+						}
+						worklist.add(newBlock);
+					}
+				}
+			}
+
+			for (BDD g : guards.values()) {
+				g.free();
+			}
+		}
+
+		Map<T, T> representatives = new HashMap<>();
+		for (List<T> block : blocks) {
+			for (T s : block) {
+				representatives.put(s, block.get(0));
+			}
+		}
+		return representatives;
+	}
+
 	@Override
 	public List<T> reachableStates() {
 		Queue<T> worklist = new LinkedList<>();
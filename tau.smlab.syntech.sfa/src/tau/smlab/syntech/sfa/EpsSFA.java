@@ -182,6 +182,7 @@ public EpsSFA eliminateEpsTrans() {
 	public BaseSFA<EpsSFAState> determinize() {
 		//create an equivalent automaton without epsilon moves
 		EpsSFA noEpsAutomaton = this.eliminateEpsTrans();
+		noEpsAutomaton.setPsIterType(this.psIterType);
 
 		//determinize the epsilon-free automaton
 		BaseSFA<EpsSFAState> detAutomaton = noEpsAutomaton.buildDetAutomaton();
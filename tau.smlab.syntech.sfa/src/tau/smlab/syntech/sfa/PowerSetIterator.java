@@ -48,8 +48,13 @@ public class PowerSetIterator {
 	
 	private PowerSetIterator() {};
 	
+	/**
+	 * DEFAULT and EFFICIENT iterate over the subsets of outgoing transitions.
+	 * MINTERMS has no iterator: the determinization splits the guards of the
+	 * whole automaton into minterms once and builds subsets of states per minterm.
+	 */
 	public static enum PowerSetIteratorType {
-		DEFAULT, EFFICIENT;
+		DEFAULT, EFFICIENT, MINTERMS;
 	}
 
 	/**
@@ -33,12 +33,12 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
 
+import tau.smlab.syntech.checks.CheckScheduler;
 import tau.smlab.syntech.checks.Checker;
 import tau.smlab.syntech.gameinputtrans.translator.MonitorTranslator;
 import tau.smlab.syntech.gameinputtrans.translator.CounterTranslator;
 import tau.smlab.syntech.gameinputtrans.translator.PastLTLTranslator;
 import tau.smlab.syntech.gamemodel.BehaviorInfo;
-import tau.smlab.syntech.gamemodel.GameModel;
 
 public class ChecksJob extends SyntechJob {
     
@@ -47,109 +47,80 @@ protected void doWork() {
     Checker c = new Checker();
     clearMarkers();
 
-    List<BehaviorInfo> badPrimes = c.computeEnvBadIniSysSpec(model);
-    if (!badPrimes.isEmpty()) {
-      this.issuesKind = "Bad primes specs";
-      this.numIssues = badPrimes.size();
-      openView();
-      printToConsole("An invalid initial assumption refers to system variables. See highlighting in editor.");
-      createMarker(badPrimes, MarkerKind.CUSTOM_TEXT_ERROR);
-      model.free();
-      return;
-    }
-    
-    badPrimes = c.computeEnvBadIniPrimesSpecs(model);
-    if (!badPrimes.isEmpty()) {
-      this.issuesKind = "Bad primes specs";
-      this.numIssues = badPrimes.size();
-      openView();
-      printToConsole("An invalid initial assumption refers to next values of variables. See highlighting in editor.");
-      createMarker(badPrimes, MarkerKind.CUSTOM_TEXT_ERROR);
-      model.free();
-      return;
-    }
-    
-    badPrimes = c.computeSysBadPrimesSpecs(model);
-    if (!badPrimes.isEmpty()) {
-      this.issuesKind = "Bad primes specs";
-      this.numIssues = badPrimes.size();
-      openView();
-      printToConsole("An invalid initial guarantee refers to next values of variables. See highlighting in editor.");
-      createMarker(badPrimes, MarkerKind.CUSTOM_TEXT_ERROR);
-      model.free();
-      return;
-    }
-    
-    badPrimes = c.computeEnvBadSafetyPrimesSpecs(model);
-    if (!badPrimes.isEmpty()) {
-      this.issuesKind = "Bad primes specs";
-      this.numIssues = badPrimes.size();
-      openView();
-      printToConsole("An invalid safety assumption refers to next values of system variables. See highlighting in editor.");
-      createMarker(badPrimes, MarkerKind.CUSTOM_TEXT_ERROR);
-      model.free();
-      return;
-    }
-    
-    if (!this.checkCounters(c, model)) {
-    	return;
-    }
-
-    List<BehaviorInfo> trivial = c.computeTrivialSpecs(model);
-    if (!trivial.isEmpty()) {
-      this.issuesKind = "Trivial specs";
-      this.numIssues = trivial.size();
-
-      openView();
-      printToConsole("Found constraints that are trivially TRUE or FALSE. See highlighting in editor.");
-      createMarker(trivial, MarkerKind.CUSTOM_TEXT_MARKER);
-      model.free();
-      return;
-    }
-    
-    if (!this.checkMonitors(c, model)) {
-      return;
-    }
-
-    List<BehaviorInfo> core = c.computeUnsatSafetyCore(model);
-    if (!core.isEmpty()) {
-      this.issuesKind = "Safety core";
-      this.numIssues = core.size();
-
-      openView();
-      printToConsole("Found an unsatisfiable subset of guarantees. See highlighting in editor.");
-      createMarker(core, MarkerKind.UNSAT_CORE);
-      model.free();
-      return;
-    }
-
-    List<BehaviorInfo> iniCore = c.computeIniDeadlockCore(model);
-    if (iniCore!=null) {
+    CheckScheduler scheduler = new CheckScheduler();
+    scheduler.add("env ini sys", () -> c.computeEnvBadIniSysSpec(model),
+        res -> report(res, "Bad primes specs",
+            "An invalid initial assumption refers to system variables. See highlighting in editor.",
+            MarkerKind.CUSTOM_TEXT_ERROR));
+    scheduler.add("env ini primes", () -> c.computeEnvBadIniPrimesSpecs(model),
+        res -> report(res, "Bad primes specs",
+            "An invalid initial assumption refers to next values of variables. See highlighting in editor.",
+            MarkerKind.CUSTOM_TEXT_ERROR));
+    scheduler.add("sys primes", () -> c.computeSysBadPrimesSpecs(model),
+        res -> report(res, "Bad primes specs",
+            "An invalid initial guarantee refers to next values of variables. See highlighting in editor.",
+            MarkerKind.CUSTOM_TEXT_ERROR));
+    scheduler.add("env safety primes", () -> c.computeEnvBadSafetyPrimesSpecs(model),
+        res -> report(res, "Bad primes specs",
+            "An invalid safety assumption refers to next values of system variables. See highlighting in editor.",
+            MarkerKind.CUSTOM_TEXT_ERROR));
+    scheduler.add("counters", () -> c.checkCountersConsistency(model, this.getTranslator(CounterTranslator.class)),
+        res -> reportCounters(c, res));
+    scheduler.add("trivial specs", () -> c.computeTrivialSpecs(model),
+        res -> report(res, "Trivial specs",
+            "Found constraints that are trivially TRUE or FALSE. See highlighting in editor.",
+            MarkerKind.CUSTOM_TEXT_MARKER));
+    scheduler.add("monitors",
+        () -> c.checkMonitorsForCompleteness(model, this.getTranslator(MonitorTranslator.class),
+            this.getTranslator(PastLTLTranslator.class)),
+        res -> reportMonitors(c, res));
+    scheduler.add("safety core", () -> c.computeUnsatSafetyCore(model),
+        res -> report(res, "Safety core", "Found an unsatisfiable subset of guarantees. See highlighting in editor.",
+            MarkerKind.UNSAT_CORE));
+    scheduler.add("ini deadlock core", () -> c.computeIniDeadlockCore(model), iniCore -> {
+      // null if there is no deadlock, a core can be empty
+      if (iniCore == null) {
+        return true;
+      }
       this.issuesKind = "Safety core";
       this.numIssues = iniCore.size();
 
       openView();
       printToConsole("The environment can force the system to a deadlock from the initial state. See possible highlighting of initial constraitns in editor.");
       createMarker(iniCore, MarkerKind.UNSAT_CORE);
-      model.free();
-      return;
-    }
-
+      return false;
+    });
+    scheduler.add("unreachable justice", () -> c.computeUnreachableJustice(model),
+        res -> report(res, "Unreachable justice",
+            "Detected unreachable or deadlock justice constraints. See highlighting in editor.",
+            MarkerKind.CUSTOM_TEXT_MARKER));
 
-    List<BehaviorInfo> deadSpecs = c.computeUnreachableJustice(model);
-    if (!deadSpecs.isEmpty()) {
-      this.issuesKind = "Unreachable justice";
-      this.numIssues = deadSpecs.size();
+    if (scheduler.run()) {
+      printToConsole("Nothing strange to report.");
+    }
+    model.free();
+  }
 
-      openView();
-      printToConsole("Detected unreachable or deadlock justice constraints. See highlighting in editor.");
-      createMarker(deadSpecs, MarkerKind.CUSTOM_TEXT_MARKER);
-      model.free();
-      return;
+  /**
+   * mark the behaviors with an issue
+   * 
+   * @param issues
+   * @param kind
+   * @param message
+   * @param markerKind
+   * @return true if there were no issues
+   */
+  private boolean report(List<BehaviorInfo> issues, String kind, String message, MarkerKind markerKind) {
+    if (issues.isEmpty()) {
+      return true;
     }
+    this.issuesKind = kind;
+    this.numIssues = issues.size();
 
-    printToConsole("Nothing strange to report.");
-    model.free();
+    openView();
+    printToConsole(message);
+    createMarker(issues, markerKind);
+    return false;
   }
 
   private void openView() {
@@ -164,16 +135,8 @@ public void run() {
     });
 
   }
-  /**
-   * Checks monitors for completeness and deadlocks, i.e., whether exists a contradiction in the definition of one of the monitors.
-   * @param c
-   * @param model
-   * @return false if there is a problem with the monitors 
-   */
-  public boolean checkMonitors(Checker c, GameModel model) {
 
-    List<BehaviorInfo> badMonitorSpecs = c.checkMonitorsForCompleteness(model, this.getTranslator(MonitorTranslator.class), 
-        this.getTranslator(PastLTLTranslator.class));
+  private boolean reportMonitors(Checker c, List<BehaviorInfo> badMonitorSpecs) {
     if(!badMonitorSpecs.isEmpty()) {
       String[] monitorCheckInfo = c.getMonitorCheckMessages();
       String badMonName = "";
@@ -190,21 +153,12 @@ public boolean checkMonitors(Checker c, GameModel model) {
         printToConsole(monitorCheckInfo[1]);
       }
       createMarker(badMonitorSpecs, MarkerKind.MON_NOT_COMP);
-      model.free();
       return false;
     }
     return true;
   }
   
-  /**
-   * Checks counters for consistency. i.e., whether 2 of its predicates (e.g., inc and reset)
-   * can both return true in some reachable state of the game.
-   * @param c
-   * @param model
-   * @return false if there are inconsistent counters. True otherwise.
-   */
-  public boolean checkCounters(Checker c, GameModel model) {
-    List<BehaviorInfo> badCounterSpecs = c.checkCountersConsistency(model, this.getTranslator(CounterTranslator.class));
+  private boolean reportCounters(Checker c, List<BehaviorInfo> badCounterSpecs) {
     if(!badCounterSpecs.isEmpty()) {
       String[] counterCheckInfo = c.getCounterCheckMessages();
       String badCounterName = "";
@@ -221,7 +175,6 @@ public boolean checkCounters(Checker c, GameModel model) {
         printToConsole(counterCheckInfo[1]);
       }
       createMarker(badCounterSpecs, MarkerKind.COUNTER_NOT_CONS);
-      model.free();
       return false;
     }
     return true;
@@ -74,7 +74,8 @@ protected void doWork() {
 				if ("CMP".equals(PreferencePage.getConcreteControllerFormat())) {
 					MAAMinimizeAutomatonPrinter.REMOVE_DEAD_STATES = false;
 					new MAAMinimizeAutomatonPrinter(model).printController(out, cc.calculateConcreteController());
-				} else if ("JTLV".equals(PreferencePage.getConcreteControllerFormat())) {
+				} else {
+					// streamed formats are only supported by GR(1) controllers
 					new SimpleTextPrinter().printController(out, cc.calculateConcreteController());
 				}
 				out.close();
@@ -80,6 +80,10 @@ public abstract class SyntechJob extends Job {
 	protected long computationTime;
 	protected long bddTranslationTime;
 	protected boolean isUserCancelledJob = false;
+	/**
+	 * time in ms that a cancelled job may take to stop by itself
+	 */
+	private static final long CANCEL_GRACE_PERIOD = 500;
 	protected boolean isRealizable;
 	protected boolean isWellSeparated;
 	protected int coreSize;
@@ -116,7 +120,16 @@ protected IStatus run(IProgressMonitor monitor) {
 		t.start();
 		while (t.isAlive()) {
 			if (monitor.isCanceled()) {
-				t.stop();
+				// give the work a chance to stop at its next cancellation point
+				t.interrupt();
+				try {
+					t.join(CANCEL_GRACE_PERIOD);
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
+				if (t.isAlive()) {
+					t.stop();
+				}
 				printToConsole("User cancelled job.");
 				Env.resetEnv();
 				isUserCancelledJob = true;
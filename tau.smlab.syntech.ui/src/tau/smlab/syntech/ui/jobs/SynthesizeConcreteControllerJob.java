@@ -28,15 +28,22 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 package tau.smlab.syntech.ui.jobs;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 
 import org.eclipse.ui.console.IOConsoleOutputStream;
 
 import net.sf.javabdd.BDD;
 import tau.smlab.syntech.bddgenerator.energy.BDDEnergyReduction;
-import tau.smlab.syntech.games.controller.enumerate.ConcreteControllerConstruction;
+import tau.smlab.syntech.games.controller.enumerate.CompactEnumStrategyImpl;
 import tau.smlab.syntech.games.controller.enumerate.printers.MAAMinimizeAutomatonPrinter;
 import tau.smlab.syntech.games.controller.enumerate.printers.SimpleTextPrinter;
+import tau.smlab.syntech.games.controller.enumerate.printers.StreamingBinaryEdgeListPrinter;
+import tau.smlab.syntech.games.controller.enumerate.printers.StreamingDotPrinter;
+import tau.smlab.syntech.games.controller.enumerate.printers.StreamingTextPrinter;
 import tau.smlab.syntech.games.gr1.GR1ConceteControllerConstructionSkip;
 import tau.smlab.syntech.games.gr1.GR1Game;
 import tau.smlab.syntech.games.gr1.GR1GameEnergyADD;
@@ -95,15 +102,38 @@ protected void doWork() {
 				model.getSys().conjunctInitial(minWinCred);
 			}
 
-			ConcreteControllerConstruction cc = new GR1ConceteControllerConstructionSkip(gr1.getMem(), model);
+			GR1ConceteControllerConstructionSkip cc = new GR1ConceteControllerConstructionSkip(gr1.getMem(), model);
 			IOConsoleOutputStream cout = console.newOutputStream();
 			PrintStream out = new PrintStream(cout);
+			String format = PreferencePage.getConcreteControllerFormat();
 			try {
-				if ("CMP".equals(PreferencePage.getConcreteControllerFormat())) {
+				if ("CMP".equals(format)) {
 					MAAMinimizeAutomatonPrinter.REMOVE_DEAD_STATES = true;
-					new MAAMinimizeAutomatonPrinter(model).printController(out, cc.calculateConcreteController());
-				} else if ("JTLV".equals(PreferencePage.getConcreteControllerFormat())) {
-					new SimpleTextPrinter().printController(out, cc.calculateConcreteController());
+					CompactEnumStrategyImpl ctrl = cc.calculateConcreteController();
+					new MAAMinimizeAutomatonPrinter(model).printController(out, ctrl);
+					ctrl.free();
+				} else if ("JTLV".equals(format)) {
+					CompactEnumStrategyImpl ctrl = cc.calculateConcreteController();
+					new SimpleTextPrinter().printController(out, ctrl);
+					ctrl.free();
+				} else if ("STREAM_TEXT".equals(format)) {
+					// states and transitions are printed while the controller is constructed
+					cc.setStreamPrinter(new StreamingTextPrinter(out), false);
+					cc.calculateConcreteController().free();
+				} else if ("STREAM_DOT".equals(format) || "STREAM_BIN".equals(format)) {
+					String outLocation = specFile.getParent().getLocation().toOSString() + File.separator + "out";
+					new File(outLocation).mkdirs();
+					File outFile = new File(outLocation, specFile.getFullPath().removeFileExtension().lastSegment()
+							+ ("STREAM_DOT".equals(format) ? ".dot" : ".edges"));
+					try (OutputStream fileOut = new BufferedOutputStream(new FileOutputStream(outFile))) {
+						if ("STREAM_DOT".equals(format)) {
+							cc.setStreamPrinter(new StreamingDotPrinter(new PrintStream(fileOut)), false);
+						} else {
+							cc.setStreamPrinter(new StreamingBinaryEdgeListPrinter(fileOut), false);
+						}
+						cc.calculateConcreteController().free();
+					}
+					printToConsole("Concrete controller written to " + outFile.getAbsolutePath());
 				}
 				out.close();
 			} catch (Exception e) {
@@ -35,6 +35,7 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 import tau.smlab.syntech.games.controller.symbolic.SymbolicController;
 import tau.smlab.syntech.games.controller.symbolic.SymbolicControllerConstruction;
 import tau.smlab.syntech.games.controller.symbolic.SymbolicControllerReaderWriter;
+import tau.smlab.syntech.games.controller.symbolic.SymbolicControllerSimulator;
 import tau.smlab.syntech.games.gr1.GR1Game;
 import tau.smlab.syntech.games.gr1.GR1GameEnergyADD;
 import tau.smlab.syntech.games.gr1.GR1GameExperiments;
@@ -46,6 +47,9 @@ LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
 
 public class SynthesizeSymbolicControllerJob extends SyntechJob {
 
+	private static final int SIMULATED_TRACES = 100;
+	private static final int SIMULATED_STEPS = 100;
+
 	@Override
 	protected void doWork() {
 		GR1Game gr1;
@@ -105,6 +109,10 @@ protected void doWork() {
 				e.printStackTrace();
 			}
 
+			if (PreferencePage.isSimulateController()) {
+				printToConsole(new SymbolicControllerSimulator(ctrl, model).simulate(SIMULATED_TRACES, SIMULATED_STEPS).toString());
+			}
+
 			model.free();
 
 			// clean up the BDDs
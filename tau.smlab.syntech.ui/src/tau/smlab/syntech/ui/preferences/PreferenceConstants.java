@@ -46,5 +46,7 @@ public class PreferenceConstants {
 	public static final String WELL_SEP_SYS = "WellSep";
 	
 	public static final String CONC_CONT_FORMAT = "ConcreteControllerFormat";
+	
+	public static final String SIMULATE_CONTROLLER = "simulateController";
 
 }
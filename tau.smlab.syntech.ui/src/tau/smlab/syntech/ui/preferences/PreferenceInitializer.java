@@ -50,6 +50,7 @@ public void initializeDefaultPreferences() {
 		store.setDefault(PreferenceConstants.OPT_CHOICE, "all");
 		store.setDefault(PreferenceConstants.DETERMINIZE, false);
 		store.setDefault(PreferenceConstants.REORDER_BEFORE_SAVE, false);
+		store.setDefault(PreferenceConstants.SIMULATE_CONTROLLER, false);
 		store.setDefault(PreferenceConstants.BDD_ENGINE_CHOICE, "CUDD");
 		store.setDefault(PreferenceConstants.WELL_SEP_SYS, "NONE");
 		store.setDefault(PreferenceConstants.CONC_CONT_FORMAT, "CMP");		
@@ -72,6 +72,7 @@ public PreferencePage() {
 	private RadioGroupFieldEditor reorder;
 	private BooleanFieldEditor determinize;
 	private BooleanFieldEditor reorderBeforeSave;
+	private BooleanFieldEditor simulateController;
 
 	public void createFieldEditors() {
 		engine = new RadioGroupFieldEditor(PreferenceConstants.BDD_ENGINE_CHOICE, "BDD engine", 1,
@@ -98,8 +99,14 @@ public void createFieldEditors() {
 		reorderBeforeSave = new BooleanFieldEditor(PreferenceConstants.REORDER_BEFORE_SAVE,
 				"Reorder BDD before save to reduce size", getFieldEditorParent());
 
+		simulateController = new BooleanFieldEditor(PreferenceConstants.SIMULATE_CONTROLLER,
+				"Simulate random traces of symbolic controllers after synthesis", getFieldEditorParent());
+
 		concCont = new RadioGroupFieldEditor(PreferenceConstants.CONC_CONT_FORMAT, "Concrete Controller Format", 1,
-				new String[][] { { "CMP automaton (Mealy)", "CMP" }, { "JTLV text format", "JTLV" } },
+				new String[][] { { "CMP automaton (Mealy)", "CMP" }, { "JTLV text format", "JTLV" },
+						{ "Streamed text format (printed during construction)", "STREAM_TEXT" },
+						{ "Streamed DOT graph (written to out folder)", "STREAM_DOT" },
+						{ "Streamed binary edge list (written to out folder)", "STREAM_BIN" } },
 				getFieldEditorParent(), true);
 
 		addField(engine);
@@ -107,6 +114,7 @@ public void createFieldEditors() {
 		addField(reorder);
 		addField(determinize);
 		addField(reorderBeforeSave);
+		addField(simulateController);
 		addField(concCont);
 
 		// String engineChoice =
@@ -145,6 +153,10 @@ public static boolean isReorderBeforeSave() {
 		return Activator.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.REORDER_BEFORE_SAVE);
 	}
 
+	public static boolean isSimulateController() {
+		return Activator.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.SIMULATE_CONTROLLER);
+	}
+
 	public static BDDPackage getBDDPackageSelection() {
 		String val = Activator.getDefault().getPreferenceStore().getString(PreferenceConstants.BDD_ENGINE_CHOICE);
 		if (val.equals("JTLV")) {